@@ -0,0 +1,137 @@
+package in.sb.SkillSwap;
+
+import in.sb.SkillSwap.model.Session;
+import in.sb.SkillSwap.model.SessionStatus;
+import in.sb.SkillSwap.model.Skill;
+import in.sb.SkillSwap.model.SwapRequest;
+import in.sb.SkillSwap.model.SwapRequestStatus;
+import in.sb.SkillSwap.model.User;
+import in.sb.SkillSwap.repository.UserSkillPair;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+// Deterministic in-memory data for the benchmarks - same seed, same data, no database needed.
+// Skill popularity follows a Zipf distribution so a few skills are shared by many users, as in real profiles.
+public class SyntheticData {
+
+    private static final String[] CATEGORIES = {
+            "Programming", "Music", "Languages", "Design", "Cooking", "Fitness", "Business", "Photography"
+    };
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private final Random random;
+    private final double[] skillPopularity;
+    private final List<Skill> skills;
+
+    public SyntheticData(long seed, int skillCount) {
+        this.random = new Random(seed);
+        this.skillPopularity = zipfCumulative(skillCount, 1.0);
+        this.skills = new ArrayList<>(skillCount);
+        for (int i = 1; i <= skillCount; i++) {
+            Skill skill = new Skill("Skill " + i, "Synthetic skill " + i, CATEGORIES[i % CATEGORIES.length]);
+            skill.setId((long) i);
+            skills.add(skill);
+        }
+    }
+
+    public List<Skill> getSkills() {
+        return skills;
+    }
+
+    public List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            User user = new User("user" + i + "@example.com", "unused", "First" + i, "Last" + i);
+            user.setId((long) i);
+            user.setBio("Synthetic user " + i);
+            user.setRatingCount((long) random.nextInt(20));
+            user.setRatingSum(user.getRatingCount() * (1 + random.nextInt(5)));
+            user.setCreatedAt(EPOCH);
+            user.setUpdatedAt(EPOCH);
+            users.add(user);
+        }
+        return users;
+    }
+
+    // One (userId, skillId) row per skill, 1..maxSkillsPerUser distinct Zipf-drawn skills for every user
+    public List<UserSkillPair> skillPairs(int userCount, int maxSkillsPerUser) {
+        List<UserSkillPair> pairs = new ArrayList<>();
+        Set<Long> chosen = new HashSet<>();
+        for (long userId = 1; userId <= userCount; userId++) {
+            int skillsForUser = 1 + random.nextInt(maxSkillsPerUser);
+            chosen.clear();
+            while (chosen.size() < skillsForUser) {
+                chosen.add(nextSkillId());
+            }
+            for (Long skillId : chosen) {
+                pairs.add(new UserSkillPair(userId, skillId));
+            }
+        }
+        return pairs;
+    }
+
+    public List<SwapRequest> swapRequests(List<User> users, int count) {
+        SwapRequestStatus[] statuses = SwapRequestStatus.values();
+        List<SwapRequest> requests = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            User sender = users.get(random.nextInt(users.size()));
+            User receiver = users.get(random.nextInt(users.size()));
+            SwapRequest request = new SwapRequest(sender, receiver, skill(), skill(), "Let's swap skills! #" + i);
+            request.setId((long) i);
+            request.setStatus(statuses[random.nextInt(statuses.length)]);
+            request.setCreatedAt(EPOCH.plusMinutes(i));
+            request.setUpdatedAt(EPOCH.plusMinutes(i));
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    public List<Session> sessions(List<SwapRequest> requests, int count) {
+        SessionStatus[] statuses = SessionStatus.values();
+        List<Session> sessions = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            SwapRequest request = requests.get(random.nextInt(requests.size()));
+            Session session = new Session(request, "Skill Swap #" + i, "Synthetic session " + i);
+            session.setId((long) i);
+            session.setStatus(statuses[random.nextInt(statuses.length)]);
+            session.setScheduledDate(EPOCH.plusHours(random.nextInt(24 * 90)));
+            session.setDuration(30 + 15 * random.nextInt(6));
+            session.setMeetingUrl("https://meet.jit.si/SkillSwap-" + Integer.toHexString(random.nextInt()));
+            session.setMeetingPlatform("JITSI");
+            session.setCreatedAt(EPOCH.plusMinutes(i));
+            session.setUpdatedAt(EPOCH.plusMinutes(i + random.nextInt(10_000)));
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    // Helper methods
+    private Skill skill() {
+        return skills.get((int) (nextSkillId() - 1));
+    }
+
+    private long nextSkillId() {
+        int index = Arrays.binarySearch(skillPopularity, random.nextDouble());
+        return (index >= 0 ? index : -index - 1) + 1L;
+    }
+
+    private static double[] zipfCumulative(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            total += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= total;
+        }
+        cumulative[n - 1] = 1.0;
+        return cumulative;
+    }
+}
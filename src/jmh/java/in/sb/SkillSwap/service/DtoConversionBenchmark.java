@@ -0,0 +1,55 @@
+package in.sb.SkillSwap.service;
+
+import in.sb.SkillSwap.SyntheticData;
+import in.sb.SkillSwap.dto.SessionDTO;
+import in.sb.SkillSwap.dto.SwapRequestDTO;
+import in.sb.SkillSwap.model.Session;
+import in.sb.SkillSwap.model.SwapRequest;
+import in.sb.SkillSwap.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity -> DTO conversion for one swap request and one session, as done for every row of a list endpoint
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoConversionBenchmark {
+
+    private final SwapRequestService swapRequestService = new SwapRequestService();
+    private final SessionService sessionService = new SessionService();
+    private SwapRequest swapRequest;
+    private Session session;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(42, 100);
+        List<User> users = data.users(10);
+        List<SwapRequest> requests = data.swapRequests(users, 1);
+        swapRequest = requests.get(0);
+        session = data.sessions(requests, 1).get(0);
+    }
+
+    @Benchmark
+    public SwapRequestDTO swapRequestToDTO() {
+        return swapRequestService.convertToDTO(swapRequest);
+    }
+
+    @Benchmark
+    public SessionDTO sessionToDTO() {
+        return sessionService.convertToDTO(session);
+    }
+}
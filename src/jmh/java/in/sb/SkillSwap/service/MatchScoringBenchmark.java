@@ -0,0 +1,122 @@
+package in.sb.SkillSwap.service;
+
+import in.sb.SkillSwap.SyntheticData;
+import in.sb.SkillSwap.repository.UserLearnSkillRepository;
+import in.sb.SkillSwap.repository.UserSkillPair;
+import in.sb.SkillSwap.repository.UserTeachSkillRepository;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+// Candidate selection + scoring + top-K for one user, the CPU part of GET /api/matches.
+// The repositories are only used during setup, so the measured path never touches a database.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchScoringBenchmark {
+
+    private static final int SKILL_COUNT = 500;
+    private static final int MAX_SKILLS_PER_USER = 8;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "1000", "10000", "100000" })
+    public int users;
+
+    // 1 = sequential scoring, 0 = one thread per processor (parallel above the threshold)
+    @Param({ "1" })
+    public int parallelism;
+
+    private MatchIndex matchIndex;
+    private MatchScorer matchScorer;
+    private SkillGraph skillGraph;
+    private long nextUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = new SyntheticData(42, SKILL_COUNT);
+        List<UserSkillPair> teachPairs = data.skillPairs(users, MAX_SKILLS_PER_USER);
+        List<UserSkillPair> learnPairs = data.skillPairs(users, MAX_SKILLS_PER_USER);
+
+        UserTeachSkillRepository teachRepository = Mockito.mock(UserTeachSkillRepository.class);
+        UserLearnSkillRepository learnRepository = Mockito.mock(UserLearnSkillRepository.class);
+        Mockito.when(teachRepository.findAllUserSkillPairs()).thenReturn(teachPairs);
+        Mockito.when(learnRepository.findAllUserSkillPairs()).thenReturn(learnPairs);
+        Mockito.when(teachRepository.findUserSkillPairsByUserIds(ArgumentMatchers.any())).thenReturn(teachPairs);
+        Mockito.when(learnRepository.findUserSkillPairsByUserIds(ArgumentMatchers.any())).thenReturn(learnPairs);
+
+        matchIndex = new MatchIndex();
+        ReflectionTestUtils.setField(matchIndex, "userTeachSkillRepository", teachRepository);
+        ReflectionTestUtils.setField(matchIndex, "userLearnSkillRepository", learnRepository);
+        matchIndex.rebuild();
+
+        // Every user's skills resident at once, as if SkillGraphLoader had fetched them
+        SkillGraphLoader loader = new SkillGraphLoader();
+        ReflectionTestUtils.setField(loader, "userTeachSkillRepository", teachRepository);
+        ReflectionTestUtils.setField(loader, "userLearnSkillRepository", learnRepository);
+        skillGraph = loader.load(LongStream.rangeClosed(1, users).boxed().collect(Collectors.toList()));
+
+        matchScorer = new MatchScorer();
+        ReflectionTestUtils.setField(matchScorer, "parallelism", parallelism);
+        ReflectionTestUtils.setField(matchScorer, "parallelThreshold", 5000);
+        matchScorer.init();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        matchScorer.shutdown();
+    }
+
+    @Benchmark
+    public void categorizedTopK(Blackhole blackhole) {
+        long userId = nextUser();
+        long[] teachSkills = skillGraph.getTeachSkills(userId);
+        long[] learnSkills = skillGraph.getLearnSkills(userId);
+
+        long[] candidateIds = matchIndex.findCandidates(userId, teachSkills, learnSkills);
+        MatchHeap[] heaps = matchScorer.score(teachSkills, learnSkills, candidateIds, skillGraph,
+                Math.min(PAGE_SIZE, candidateIds.length), true);
+        for (MatchHeap heap : heaps) {
+            blackhole.consume(heap.drainBestFirst());
+        }
+    }
+
+    @Benchmark
+    public void flatTopK(Blackhole blackhole) {
+        long userId = nextUser();
+        long[] teachSkills = skillGraph.getTeachSkills(userId);
+        long[] learnSkills = skillGraph.getLearnSkills(userId);
+
+        long[] candidateIds = matchIndex.findCandidates(userId, teachSkills, learnSkills);
+        MatchHeap[] heaps = matchScorer.score(teachSkills, learnSkills, candidateIds, skillGraph,
+                Math.min(PAGE_SIZE, candidateIds.length), false);
+        blackhole.consume(heaps[MatchScorer.ALL].drainBestFirst());
+    }
+
+    // Cycle through users so one lucky profile does not dominate the result
+    private long nextUser() {
+        nextUserId = nextUserId % users + 1;
+        return nextUserId;
+    }
+}
@@ -0,0 +1,52 @@
+package in.sb.SkillSwap.service;
+
+import in.sb.SkillSwap.SyntheticData;
+import in.sb.SkillSwap.dto.SessionDTO;
+import in.sb.SkillSwap.model.Session;
+import in.sb.SkillSwap.model.SwapRequest;
+import in.sb.SkillSwap.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// SessionService.getSessionsByStatus minus the repository call: DTO conversion, bucketing and sorting.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionCategorizationBenchmark {
+
+    // Sessions owned by the requesting user
+    @Param({ "10", "100", "1000" })
+    public int sessions;
+
+    private final SessionService sessionService = new SessionService();
+    private List<Session> userSessions;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(42, 100);
+        List<User> users = data.users(50);
+        List<SwapRequest> requests = data.swapRequests(users, Math.max(10, sessions / 2));
+        userSessions = data.sessions(requests, sessions);
+    }
+
+    @Benchmark
+    public Map<String, List<SessionDTO>> getSessionsByStatus() {
+        return sessionService.categorizeByStatus(userSessions);
+    }
+}
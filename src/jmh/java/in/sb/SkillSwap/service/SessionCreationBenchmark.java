@@ -0,0 +1,106 @@
+package in.sb.SkillSwap.service;
+
+import in.sb.SkillSwap.SkillSwapApplication;
+import in.sb.SkillSwap.model.Skill;
+import in.sb.SkillSwap.model.SwapRequest;
+import in.sb.SkillSwap.model.SwapRequestStatus;
+import in.sb.SkillSwap.model.User;
+import in.sb.SkillSwap.repository.SkillRepository;
+import in.sb.SkillSwap.repository.SwapRequestRepository;
+import in.sb.SkillSwap.repository.UserRepository;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+// Session + progress tracking inserts done when a swap request is accepted.
+// H2 runs as a TCP server, so every statement is a real socket round trip as it would be against MySQL.
+// batchSize=1 turns JDBC batching off (one INSERT per tracking row, the old behaviour); 50 is the configured value.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionCreationBenchmark {
+
+    @Param({ "1", "50" })
+    public int batchSize;
+
+    private Server database;
+    private ConfigurableApplicationContext application;
+    private SessionService sessionService;
+    private SwapRequestRepository swapRequestRepository;
+    private User sender;
+    private User receiver;
+    private Skill teachSkill;
+    private Skill learnSkill;
+    private SwapRequest acceptedRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        database = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start(); // local only, lets the app create the in-memory database
+        String url = "jdbc:h2:tcp://localhost:" + database.getPort() + "/mem:sessions-" + batchSize
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+        application = new SpringApplicationBuilder(SkillSwapApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--skillswap.matching.materialization.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.in.sb.SkillSwap=WARN",
+                        "--logging.level.org.springframework.web=WARN");
+
+        sessionService = application.getBean(SessionService.class);
+        swapRequestRepository = application.getBean(SwapRequestRepository.class);
+        UserRepository userRepository = application.getBean(UserRepository.class);
+        SkillRepository skillRepository = application.getBean(SkillRepository.class);
+
+        sender = userRepository.save(new User("sender@example.com", "unused", "Sender", "User"));
+        receiver = userRepository.save(new User("receiver@example.com", "unused", "Receiver", "User"));
+        teachSkill = skillRepository.save(new Skill("Python", "Benchmark skill", "Programming"));
+        learnSkill = skillRepository.save(new Skill("Guitar", "Benchmark skill", "Music"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+        database.stop();
+    }
+
+    // A fresh accepted request per call, since each request can only get one session
+    @Setup(Level.Invocation)
+    public void newRequest() {
+        SwapRequest request = new SwapRequest(sender, receiver, teachSkill, learnSkill, "Benchmark swap");
+        request.setStatus(SwapRequestStatus.ACCEPTED);
+        acceptedRequest = swapRequestRepository.save(request);
+    }
+
+    @Benchmark
+    public Object createSession() {
+        return sessionService.createSessionFromSwapRequest(acceptedRequest);
+    }
+}
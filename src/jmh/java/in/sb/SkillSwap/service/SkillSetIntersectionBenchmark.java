@@ -0,0 +1,107 @@
+package in.sb.SkillSwap.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+// Skill-set intersection: the original boxed List<Long> nested loops vs SkillSetIntersection.
+// Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.args="SkillSetIntersection -prof gc"
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkillSetIntersectionBenchmark {
+
+    // "teach/learn" skill counts of the two users being compared
+    @Param({ "5/5", "20/20", "3/200" })
+    public String sizes;
+
+    private List<Long> boxedA;
+    private List<Long> boxedB;
+    private long[] sortedA;
+    private long[] sortedB;
+    private final SkillSetIntersection intersection = new SkillSetIntersection();
+
+    @Setup
+    public void setUp() {
+        String[] parts = sizes.split("/");
+        Random random = new Random(42);
+        // Skill ids drawn from a catalog of 500 so the sets overlap a little
+        TreeSet<Long> a = randomSkills(random, Integer.parseInt(parts[0]));
+        TreeSet<Long> b = randomSkills(random, Integer.parseInt(parts[1]));
+        a.add(b.first()); // at least one common skill
+
+        boxedA = new ArrayList<>(a);
+        boxedB = new ArrayList<>(b);
+        sortedA = a.stream().mapToLong(Long::longValue).toArray();
+        sortedB = b.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Benchmark
+    public void nestedLoop(Blackhole blackhole) {
+        blackhole.consume(countCommonSkills(boxedA, boxedB));
+        blackhole.consume(findCommonSkill(boxedA, boxedB));
+    }
+
+    @Benchmark
+    public void sortedIntersect(Blackhole blackhole) {
+        blackhole.consume(intersection.intersect(sortedA, sortedB));
+        blackhole.consume(intersection.getFirstCommonSkillId());
+    }
+
+    @Benchmark
+    public int sortedCount() {
+        return SkillSetIntersection.count(sortedA, sortedB);
+    }
+
+    // Previous MatchService implementation, kept here as the baseline
+    private static int countCommonSkills(List<Long> list1, List<Long> list2) {
+        int count = 0;
+        for (Long skill1 : list1) {
+            for (Long skill2 : list2) {
+                if (skill1.equals(skill2)) {
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static Long findCommonSkill(List<Long> list1, List<Long> list2) {
+        for (Long skill1 : list1) {
+            for (Long skill2 : list2) {
+                if (skill1.equals(skill2)) {
+                    return skill1;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static TreeSet<Long> randomSkills(Random random, int count) {
+        TreeSet<Long> skills = new TreeSet<>();
+        while (skills.size() < count) {
+            // Offset past the small-value Long cache so the baseline compares real objects
+            skills.add(1000L + random.nextInt(500));
+        }
+        return skills;
+    }
+}
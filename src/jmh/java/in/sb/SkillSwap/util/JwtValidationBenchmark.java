@@ -0,0 +1,55 @@
+package in.sb.SkillSwap.util;
+
+import in.sb.SkillSwap.SyntheticData;
+import in.sb.SkillSwap.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request token checks done by every authenticated controller method
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private String validToken;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        User user = new SyntheticData(42, 10).users(1).get(0);
+        validToken = jwtUtil.generateToken(user);
+        // Change one character inside the signature (not the last one, whose low bits are padding)
+        int position = validToken.length() - 10;
+        char replacement = validToken.charAt(position) == 'A' ? 'B' : 'A';
+        tamperedToken = validToken.substring(0, position) + replacement + validToken.substring(position + 1);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(validToken);
+    }
+
+    @Benchmark
+    public boolean validateTamperedToken() {
+        return jwtUtil.validateToken(tamperedToken);
+    }
+
+    @Benchmark
+    public Long extractUserId() {
+        return jwtUtil.extractUserId(validToken);
+    }
+}
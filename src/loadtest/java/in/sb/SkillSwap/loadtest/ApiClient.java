@@ -0,0 +1,111 @@
+package in.sb.SkillSwap.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+// Thin JSON-over-HTTP client that times every call and files it under an endpoint label
+public class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    public ApiClient(String baseUrl, ExecutorService executor) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static class ApiResponse {
+        private final int status;
+        private final JsonNode body;
+
+        ApiResponse(int status, JsonNode body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public JsonNode getBody() {
+            return body;
+        }
+    }
+
+    // endpoint is the label used in the report, e.g. "GET /api/sessions/{id}"
+    public ApiResponse call(String endpoint, String method, String path, Object body, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        request.method(method, body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+
+        long started = System.nanoTime();
+        int status;
+        String responseBody;
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+            responseBody = response.body();
+        } catch (IOException e) {
+            status = -1;
+            responseBody = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = -1;
+            responseBody = null;
+        }
+        long latency = System.nanoTime() - started;
+
+        ApiResponse response = new ApiResponse(status, parse(responseBody));
+        stats.computeIfAbsent(endpoint, EndpointStats::new).record(latency, response.isSuccess());
+        return response;
+    }
+
+    // Sorted by endpoint label for a stable report
+    public Map<String, EndpointStats> getStats() {
+        return new TreeMap<>(stats);
+    }
+
+    public void resetStats() {
+        stats.values().forEach(EndpointStats::reset);
+    }
+
+    private JsonNode parse(String body) {
+        if (body == null || body.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (RuntimeException e) {
+            return null; // plain-text responses such as the test endpoints
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package in.sb.SkillSwap.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency histogram (microseconds) and error count for one endpoint
+public class EndpointStats {
+
+    // Anything slower than a minute is recorded as a minute
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String endpoint;
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public void record(long latencyNanos, boolean success) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    public void reset() {
+        latencies.reset();
+        errors.reset();
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public Histogram getLatencies() {
+        return latencies;
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+}
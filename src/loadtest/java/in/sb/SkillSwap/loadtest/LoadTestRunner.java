@@ -0,0 +1,154 @@
+package in.sb.SkillSwap.loadtest;
+
+import in.sb.SkillSwap.SkillSwapApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// End-to-end throughput harness: boots SkillSwap on an embedded H2 database, seeds users with
+// Zipf-distributed skill profiles, runs the mixed scenarios from a pool of closed-loop workers and
+// prints p50/p99/p999 latency and throughput per endpoint.
+//
+// mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--users=1000 --threads=16 --duration=60"
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int users = Integer.parseInt(options.getOrDefault("users", "1000"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "16"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int maxSkillsPerUser = Integer.parseInt(options.getOrDefault("skills-per-user", "5"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        int port = freePort();
+        ConfigurableApplicationContext application = new SpringApplicationBuilder(SkillSwapApplication.class)
+                .profiles("loadtest")
+                .run("--server.port=" + port); // must beat server.port in application.properties
+
+        ExecutorService httpExecutor = Executors.newCachedThreadPool();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            ApiClient client = new ApiClient("http://localhost:" + port, httpExecutor);
+            Scenarios scenarios = new Scenarios(client, maxSkillsPerUser);
+
+            long seedingStarted = System.nanoTime();
+            seed(scenarios, workers, threads, users, seed);
+            System.out.printf("Seeded %d users in %.1f s%n", scenarios.getUserCount(),
+                    (System.nanoTime() - seedingStarted) / 1e9);
+
+            if (warmupSeconds > 0) {
+                runFor(scenarios, workers, threads, warmupSeconds, seed + 1);
+            }
+            client.resetStats();
+
+            runFor(scenarios, workers, threads, durationSeconds, seed + 2);
+            printReport(client, durationSeconds, threads);
+        } finally {
+            workers.shutdownNow();
+            httpExecutor.shutdownNow();
+            application.close();
+        }
+    }
+
+    // Registration is spread over the workers; every worker has its own seeded Random
+    private static void seed(Scenarios scenarios, ExecutorService workers, int threads, int users, long seed)
+            throws InterruptedException {
+        AtomicInteger remaining = new AtomicInteger(users);
+        runOnWorkers(workers, threads, seed, random -> {
+            while (remaining.getAndDecrement() > 0) {
+                scenarios.registerUser(random);
+            }
+        });
+    }
+
+    private static void runFor(Scenarios scenarios, ExecutorService workers, int threads, int seconds, long seed)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        runOnWorkers(workers, threads, seed, random -> {
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                scenarios.runRandom(random);
+            }
+        });
+    }
+
+    private interface WorkerLoop {
+        void run(Random random);
+    }
+
+    private static void runOnWorkers(ExecutorService workers, int threads, long seed, WorkerLoop loop)
+            throws InterruptedException {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Random random = new Random(seed * 31 + i);
+            tasks.add(() -> {
+                loop.run(random);
+                return null;
+            });
+        }
+        workers.invokeAll(tasks);
+    }
+
+    private static void printReport(ApiClient client, int durationSeconds, int threads) {
+        System.out.printf("%nMixed scenario load, %d workers, %d s measured%n%n", threads, durationSeconds);
+        System.out.printf("%-42s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (EndpointStats stats : client.getStats().values()) {
+            Histogram latencies = stats.getLatencies();
+            long count = latencies.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            totalRequests += count;
+            totalErrors += stats.getErrors();
+            System.out.printf("%-42s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.getEndpoint(), count, stats.getErrors(), (double) count / durationSeconds,
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()));
+        }
+        System.out.printf("%n%-42s %9d %7d %9.1f%n", "Total", totalRequests, totalErrors,
+                (double) totalRequests / durationSeconds);
+    }
+
+    // Helper methods
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // --name=value pairs
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
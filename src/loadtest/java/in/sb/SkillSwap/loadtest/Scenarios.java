@@ -0,0 +1,223 @@
+package in.sb.SkillSwap.loadtest;
+
+import in.sb.SkillSwap.loadtest.ApiClient.ApiResponse;
+import tools.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// User journeys driven against the REST API. Every call goes through ApiClient, so each
+// step shows up under its own endpoint in the report.
+public class Scenarios {
+
+    private static final String PASSWORD = "loadtest-password";
+
+    private final ApiClient client;
+    private final SkillCatalog catalog = new SkillCatalog();
+    private final int maxSkillsPerUser;
+    private final List<SimUser> users = new CopyOnWriteArrayList<>();
+    private final Map<Long, SimUser> usersById = new ConcurrentHashMap<>();
+    private final AtomicInteger userSequence = new AtomicInteger();
+
+    // Scenario mix: weight per journey, picked independently for every iteration
+    private final Map<String, Integer> weights = new LinkedHashMap<>();
+
+    public Scenarios(ApiClient client, int maxSkillsPerUser) {
+        this.client = client;
+        this.maxSkillsPerUser = maxSkillsPerUser;
+
+        weights.put("browseMatches", 30);
+        weights.put("categorizedMatches", 10);
+        weights.put("categorizedSessions", 15);
+        weights.put("receivedRequests", 15);
+        weights.put("swapLifecycle", 10);
+        weights.put("editSkills", 10);
+        weights.put("login", 7);
+        weights.put("register", 3);
+    }
+
+    public int getUserCount() {
+        return users.size();
+    }
+
+    // Register/login plus a Zipf-drawn teach and learn profile
+    public SimUser registerUser(Random random) {
+        int sequence = userSequence.incrementAndGet();
+        SimUser user = new SimUser("loadtest" + sequence + "@example.com", PASSWORD);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("email", user.getEmail());
+        body.put("password", user.getPassword());
+        body.put("firstName", "Load");
+        body.put("lastName", "User" + sequence);
+        ApiResponse response = client.call("POST /api/auth/register", "POST", "/api/auth/register", body, null);
+        if (!response.isSuccess() || response.getBody() == null) {
+            return null;
+        }
+        user.setToken(response.getBody().get("token").asString());
+        user.setId(response.getBody().get("user").get("id").asLong());
+
+        int teachCount = 1 + random.nextInt(maxSkillsPerUser);
+        int learnCount = 1 + random.nextInt(maxSkillsPerUser);
+        for (int i = 0; i < teachCount; i++) {
+            addSkill(user, true, random);
+        }
+        for (int i = 0; i < learnCount; i++) {
+            addSkill(user, false, random);
+        }
+
+        users.add(user);
+        usersById.put(user.getId(), user);
+        return user;
+    }
+
+    public void runRandom(Random random) {
+        if (users.isEmpty()) {
+            registerUser(random);
+            return;
+        }
+
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = random.nextInt(total);
+        for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+            pick -= weight.getValue();
+            if (pick < 0) {
+                run(weight.getKey(), random);
+                return;
+            }
+        }
+    }
+
+    private void run(String scenario, Random random) {
+        SimUser user = randomUser(random);
+        switch (scenario) {
+            case "browseMatches":
+                client.call("GET /api/matches", "GET", "/api/matches?limit=20", null, user.getToken());
+                break;
+            case "categorizedMatches":
+                client.call("GET /api/matches/categorized", "GET", "/api/matches/categorized?limit=10", null, user.getToken());
+                break;
+            case "categorizedSessions":
+                client.call("GET /api/sessions/categorized", "GET", "/api/sessions/categorized", null, user.getToken());
+                break;
+            case "receivedRequests":
+                client.call("GET /api/swap-requests/received", "GET", "/api/swap-requests/received", null, user.getToken());
+                break;
+            case "swapLifecycle":
+                swapLifecycle(user, random);
+                break;
+            case "editSkills":
+                addSkill(user, random.nextBoolean(), random);
+                break;
+            case "login":
+                login(user);
+                break;
+            case "register":
+                registerUser(random);
+                break;
+        }
+    }
+
+    // Find a match, send a request, have the receiver accept it, then schedule and complete the session
+    private void swapLifecycle(SimUser sender, Random random) {
+        ApiResponse matches = client.call("GET /api/matches", "GET", "/api/matches?limit=20", null, sender.getToken());
+        if (!matches.isSuccess() || matches.getBody() == null || matches.getBody().isEmpty()) {
+            return;
+        }
+
+        JsonNode match = matches.getBody().get(random.nextInt(matches.getBody().size()));
+        JsonNode skill = match.get("skillYouCanTeachThem");
+        SimUser receiver = usersById.get(match.get("user").get("id").asLong());
+        if (skill == null || skill.isNull() || receiver == null) {
+            return; // the receiver must want to learn something the sender teaches
+        }
+
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("receiverId", receiver.getId());
+        request.put("teachSkillId", skill.get("id").asLong());
+        request.put("learnSkillId", skill.get("id").asLong());
+        request.put("message", "Load test swap");
+        ApiResponse created = client.call("POST /api/swap-requests", "POST", "/api/swap-requests", request, sender.getToken());
+        if (!created.isSuccess() || created.getBody() == null) {
+            return;
+        }
+
+        long requestId = created.getBody().get("id").asLong();
+        ApiResponse accepted = client.call("PUT /api/swap-requests/{id}/accept", "PUT",
+                "/api/swap-requests/" + requestId + "/accept", null, receiver.getToken());
+        if (!accepted.isSuccess()) {
+            return;
+        }
+
+        Long sessionId = newestCreatedSession(receiver);
+        if (sessionId == null) {
+            return;
+        }
+        LocalDateTime scheduledDate = LocalDateTime.now().plusDays(1 + random.nextInt(30)).withNano(0);
+        ApiResponse scheduled = client.call("PUT /api/sessions/{id}/schedule", "PUT",
+                "/api/sessions/" + sessionId + "/schedule?scheduledDate=" + scheduledDate + "&duration=60",
+                null, sender.getToken());
+        if (scheduled.isSuccess()) {
+            client.call("PUT /api/sessions/{id}/mark-completed", "PUT",
+                    "/api/sessions/" + sessionId + "/mark-completed", null, sender.getToken());
+        }
+    }
+
+    private Long newestCreatedSession(SimUser user) {
+        ApiResponse sessions = client.call("GET /api/sessions", "GET", "/api/sessions", null, user.getToken());
+        if (!sessions.isSuccess() || sessions.getBody() == null) {
+            return null;
+        }
+        Long newest = null;
+        for (JsonNode session : sessions.getBody()) {
+            if ("CREATED".equals(session.get("status").asString())) {
+                long id = session.get("id").asLong();
+                newest = newest == null ? id : Math.max(newest, id);
+            }
+        }
+        return newest;
+    }
+
+    private void addSkill(SimUser user, boolean teach, Random random) {
+        Set<String> current = teach ? user.getTeachSkills() : user.getLearnSkills();
+        SkillCatalog.SkillChoice choice = null;
+        for (int attempt = 0; attempt < 10 && choice == null; attempt++) {
+            SkillCatalog.SkillChoice candidate = catalog.next(random);
+            if (current.add(candidate.getName())) {
+                choice = candidate;
+            }
+        }
+        if (choice == null) {
+            return; // profile already holds the popular skills
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("skillName", choice.getName());
+        body.put("category", choice.getCategory());
+        body.put("level", 1 + random.nextInt(5));
+        body.put("goal", teach ? "Share what I know" : "Get started");
+        String path = teach ? "/api/skills/teach" : "/api/skills/learn";
+        client.call("POST " + path, "POST", path, body, user.getToken());
+    }
+
+    private void login(SimUser user) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("email", user.getEmail());
+        body.put("password", user.getPassword());
+        ApiResponse response = client.call("POST /api/auth/login", "POST", "/api/auth/login", body, null);
+        if (response.isSuccess() && response.getBody() != null) {
+            user.setToken(response.getBody().get("token").asString());
+        }
+    }
+
+    private SimUser randomUser(Random random) {
+        return users.get(random.nextInt(users.size()));
+    }
+}
@@ -0,0 +1,52 @@
+package in.sb.SkillSwap.loadtest;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// A seeded account and what the harness knows about it
+public class SimUser {
+    private final String email;
+    private final String password;
+    private volatile Long id;
+    private volatile String token;
+    private final Set<String> teachSkills = ConcurrentHashMap.newKeySet();
+    private final Set<String> learnSkills = ConcurrentHashMap.newKeySet();
+
+    public SimUser(String email, String password) {
+        this.email = email;
+        this.password = password;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    // Skill names already on the profile, so the harness does not send duplicates
+    public Set<String> getTeachSkills() {
+        return teachSkills;
+    }
+
+    public Set<String> getLearnSkills() {
+        return learnSkills;
+    }
+}
@@ -0,0 +1,40 @@
+package in.sb.SkillSwap.loadtest;
+
+import java.util.Random;
+
+// Fixed skill names grouped by category. Categories and the skills inside each category are both
+// Zipf-distributed, so a few categories (and a few skills within them) dominate the profiles.
+public class SkillCatalog {
+
+    private static final String[] CATEGORIES = {
+            "Programming", "Languages", "Music", "Design", "Business", "Cooking", "Fitness", "Photography"
+    };
+    private static final int SKILLS_PER_CATEGORY = 25;
+
+    private final ZipfSampler categorySampler = new ZipfSampler(CATEGORIES.length, 1.0);
+    private final ZipfSampler skillSampler = new ZipfSampler(SKILLS_PER_CATEGORY, 1.0);
+
+    public static class SkillChoice {
+        private final String name;
+        private final String category;
+
+        SkillChoice(String name, String category) {
+            this.name = name;
+            this.category = category;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+    }
+
+    public SkillChoice next(Random random) {
+        String category = CATEGORIES[categorySampler.next(random)];
+        int skill = skillSampler.next(random) + 1;
+        return new SkillChoice(category + " " + skill, category);
+    }
+}
@@ -0,0 +1,27 @@
+package in.sb.SkillSwap.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Draws ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent
+public class ZipfSampler {
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double total = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            total += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= total;
+        }
+        cumulative[n - 1] = 1.0;
+    }
+
+    public int next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -2,8 +2,10 @@ package in.sb.SkillSwap;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.resilience.annotation.EnableResilientMethods;
 
 @SpringBootApplication
+@EnableResilientMethods
 public class SkillSwapApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,60 @@
+package in.sb.SkillSwap.config;
+
+import in.sb.SkillSwap.dto.AuthenticatedUser;
+import in.sb.SkillSwap.exception.AuthException;
+import in.sb.SkillSwap.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+// Supplies an AuthenticatedUser parameter to any handler method that declares one.
+// The bearer token is verified once and the result kept on the request for later lookups.
+@Component
+public class AuthenticatedUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String REQUEST_ATTRIBUTE = AuthenticatedUser.class.getName();
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return AuthenticatedUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public AuthenticatedUser resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                             NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+
+        AuthenticatedUser user = (AuthenticatedUser) request.getAttribute(REQUEST_ATTRIBUTE);
+        if (user == null) {
+            user = authenticate(request.getHeader("Authorization"));
+            request.setAttribute(REQUEST_ATTRIBUTE, user);
+        }
+        return user;
+    }
+
+    private AuthenticatedUser authenticate(String authHeader) {
+        String token = extractToken(authHeader);
+        Claims claims = token == null ? null : jwtUtil.getVerifiedClaims(token);
+        if (claims == null) {
+            throw new AuthException("Invalid or expired token");
+        }
+        // Both fields come from the one verified claims object
+        return new AuthenticatedUser(claims.get("userId", Long.class), claims.getSubject());
+    }
+
+    private String extractToken(String authHeader) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,60 @@
+package in.sb.SkillSwap.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Tables that moved from IDENTITY to a pooled table generator keep the ids their AUTO_INCREMENT column
+// already handed out. Before the first insert, each generator row is moved past MAX(id) so new ids never collide.
+// Runs once at startup, after Hibernate has created or updated the schema.
+@Component
+public class IdGeneratorAlignment {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorAlignment.class);
+
+    private static final String GENERATOR_TABLE = "id_generators";
+
+    // generator name -> entity table, allocation size as declared on the entity's @TableGenerator
+    private static final String[][] GENERATORS = {
+            { "progress_tracking", "progress_tracking", "50" },
+            { "user_teach_skills", "user_teach_skills", "50" },
+            { "user_learn_skills", "user_learn_skills", "50" }
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Injected only so the schema exists before this runs
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void align() {
+        for (String[] generator : GENERATORS) {
+            String name = generator[0];
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + generator[1], Long.class);
+            if (maxId == null) {
+                continue; // empty table, the generator's own initial value is fine
+            }
+            // Clear of MAX(id) whether the stored value is read as the next id or as the top of the next block
+            long floor = maxId + Long.parseLong(generator[2]) + 1;
+
+            List<Long> current = jdbcTemplate.queryForList(
+                    "SELECT next_val FROM " + GENERATOR_TABLE + " WHERE generator = ?", Long.class, name);
+            if (current.isEmpty()) {
+                jdbcTemplate.update("INSERT INTO " + GENERATOR_TABLE + " (generator, next_val) VALUES (?, ?)", name, floor);
+            } else if (current.get(0) < floor) {
+                jdbcTemplate.update("UPDATE " + GENERATOR_TABLE + " SET next_val = ? WHERE generator = ?", floor, name);
+            } else {
+                continue;
+            }
+            log.info("Moved id generator {} to {} (max existing id {})", name, floor, maxId);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package in.sb.SkillSwap.config;
+
+import in.sb.SkillSwap.service.MatchMaterializer;
+import in.sb.SkillSwap.service.MatchService;
+import in.sb.SkillSwap.service.SessionService;
+import in.sb.SkillSwap.service.SkillService;
+import in.sb.SkillSwap.service.SwapRequestService;
+import in.sb.SkillSwap.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+// Service timers on top of the actuator defaults (JVM, HTTP server, Hikari pool and Hibernate statistics meters),
+// all scraped from /actuator/prometheus. Histograms are switched on per timer in application.properties.
+@Configuration
+public class MetricsConfig {
+
+    // Every public method of these services gets a timer (skillswap.service.<name>) and an error counter.
+    // MatchMaterializer answers /api/matches/categorized, calling MatchService only on a snapshot miss,
+    // so it shares the match timer; its method tag (findCategorizedMatches) keeps the two apart.
+    private static final Map<Class<?>, String> TIMED_SERVICES = Map.of(
+            MatchService.class, "match",
+            MatchMaterializer.class, "match",
+            SessionService.class, "session",
+            SwapRequestService.class, "swaprequest",
+            SkillService.class, "skill",
+            UserService.class, "user");
+
+    // Infrastructure role so the auto-proxy creator that applies @Transactional applies this advisor too.
+    // Highest precedence keeps the timer outermost, so transaction commit and retries are part of the measured time.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor serviceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class
+                        && !isInfrastructure(method);
+            }
+        };
+        pointcut.setClassFilter(type -> TIMED_SERVICES.containsKey(ClassUtils.getUserClass(type)));
+
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut,
+                new ServiceMetricsInterceptor(meterRegistry, TIMED_SERVICES));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    // Event listeners, lifecycle callbacks and meter binding are not service calls
+    private static boolean isInfrastructure(Method method) {
+        return AnnotatedElementUtils.hasAnnotation(method, EventListener.class)
+                || method.isAnnotationPresent(PreDestroy.class)
+                || (method.getName().equals("bindTo") && MeterBinder.class.isAssignableFrom(method.getDeclaringClass()));
+    }
+}
@@ -0,0 +1,58 @@
+package in.sb.SkillSwap.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+// Tags every log line written while serving a request with a correlation id (MDC key "requestId").
+// A well-formed X-Request-Id from the caller or proxy is kept, otherwise a new one is generated;
+// either way it is echoed back in the response so a client report can be matched to the logs.
+// Async requests (register, login) are dispatched again to write the result; that dispatch reuses the same id.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "requestId";
+
+    // Caller-supplied ids end up in the logs, so only short plain tokens are accepted
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private static final String REQUEST_ID_ATTRIBUTE = RequestIdFilter.class.getName() + ".requestId";
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = (String) request.getAttribute(REQUEST_ID_ATTRIBUTE);
+        if (requestId == null) {
+            requestId = request.getHeader(HEADER);
+            if (requestId == null || !VALID_ID.matcher(requestId).matches()) {
+                requestId = UUID.randomUUID().toString();
+            }
+            request.setAttribute(REQUEST_ID_ATTRIBUTE, requestId);
+            response.setHeader(HEADER, requestId);
+        }
+
+        MDC.put(MDC_KEY, requestId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
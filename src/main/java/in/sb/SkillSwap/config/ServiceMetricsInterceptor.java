@@ -0,0 +1,110 @@
+package in.sb.SkillSwap.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Times a service call and counts its failures. Calls returning a CompletionStage are timed until the stage completes.
+// skillswap.service.<name> (timer, named in MetricsConfig, e.g. skillswap.service.match for MatchService):
+//   tags method, outcome (success/error) and exception (simple class name or "none")
+// skillswap.service.errors (counter): tags class, method and exception
+// Each service has its own timer name so percentile histograms can be switched on per service:
+// Prometheus cannot mix histogram and summary series under one name.
+class ServiceMetricsInterceptor implements MethodInterceptor {
+
+    static final String TIMER_PREFIX = "skillswap.service.";
+    static final String ERRORS = "skillswap.service.errors";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final Map<Class<?>, String> timerNames;
+    private volatile MeterRegistry registry;
+
+    // The success timer is looked up on every call, so it is resolved once per method
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    ServiceMetricsInterceptor(ObjectProvider<MeterRegistry> registryProvider, Map<Class<?>, String> timerNames) {
+        this.registryProvider = registryProvider;
+        this.timerNames = timerNames;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry meters = registry();
+        Timer.Sample sample = Timer.start(meters);
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            stopWithError(meters, sample, invocation, e);
+            throw e;
+        }
+
+        // Async methods (register, login) return before the hashing pool has done the work,
+        // so their sample is stopped when the returned future completes
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((value, error) -> {
+                if (error == null) {
+                    stopWithSuccess(meters, sample, invocation);
+                } else {
+                    stopWithError(meters, sample, invocation,
+                            error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                }
+            });
+        } else {
+            stopWithSuccess(meters, sample, invocation);
+        }
+        return result;
+    }
+
+    private void stopWithSuccess(MeterRegistry meters, Timer.Sample sample, MethodInvocation invocation) {
+        sample.stop(successTimers.computeIfAbsent(invocation.getMethod(),
+                method -> timer(meters, invocation, "success", "none")));
+    }
+
+    private void stopWithError(MeterRegistry meters, Timer.Sample sample, MethodInvocation invocation, Throwable e) {
+        String exception = e.getClass().getSimpleName();
+        sample.stop(timer(meters, invocation, "error", exception));
+        Counter.builder(ERRORS)
+                .description("Service calls that threw, by exception type")
+                .tag("class", targetClass(invocation).getSimpleName())
+                .tag("method", invocation.getMethod().getName())
+                .tag("exception", exception)
+                .register(meters)
+                .increment();
+    }
+
+    // Resolved on first use: the advisor is created before the registry exists
+    private MeterRegistry registry() {
+        MeterRegistry meters = registry;
+        if (meters == null) {
+            meters = registryProvider.getObject();
+            registry = meters;
+        }
+        return meters;
+    }
+
+    private Timer timer(MeterRegistry meters, MethodInvocation invocation, String outcome, String exception) {
+        return Timer.builder(TIMER_PREFIX + timerNames.get(targetClass(invocation)))
+                .description("Service method latency")
+                .tag("method", invocation.getMethod().getName())
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(meters);
+    }
+
+    private Class<?> targetClass(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        Class<?> type = target != null ? target.getClass() : invocation.getMethod().getDeclaringClass();
+        return ClassUtils.getUserClass(type);
+    }
+}
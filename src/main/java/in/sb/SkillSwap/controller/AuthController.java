@@ -8,6 +8,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {  // Removed @CrossOrigin
@@ -16,15 +18,13 @@ public class AuthController {  // Removed @CrossOrigin
     private UserService userService;
     
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest registerRequest) {
-        AuthResponse response = userService.register(registerRequest);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@RequestBody RegisterRequest registerRequest) {
+        return userService.register(registerRequest).thenApply(ResponseEntity::ok);
     }
     
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody AuthRequest authRequest) {
-        AuthResponse response = userService.login(authRequest);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@RequestBody AuthRequest authRequest) {
+        return userService.login(authRequest).thenApply(ResponseEntity::ok);
     }
     
     @GetMapping("/validate-token")
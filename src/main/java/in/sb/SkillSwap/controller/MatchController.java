@@ -1,8 +1,9 @@
 package in.sb.SkillSwap.controller;
 
+import in.sb.SkillSwap.dto.AuthenticatedUser;
 import in.sb.SkillSwap.dto.MatchDTO;
+import in.sb.SkillSwap.service.MatchMaterializer;
 import in.sb.SkillSwap.service.MatchService;
-import in.sb.SkillSwap.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,21 +19,28 @@ public class MatchController {
     private MatchService matchService;
 
     @Autowired
-    private UserService userService;
+    private MatchMaterializer matchMaterializer;
 
-    // Original endpoint - returns all matches sorted by score
+    // Original endpoint - returns matches sorted by score (optionally paged with offset/limit)
     @GetMapping
-    public ResponseEntity<List<MatchDTO>> getMatches(@RequestHeader("Authorization") String authHeader) {
-        Long userId = getUserIdFromToken(authHeader);
-        List<MatchDTO> matches = matchService.findMatchesForUser(userId);
+    public ResponseEntity<List<MatchDTO>> getMatches(
+            AuthenticatedUser currentUser,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit) {
+        Long userId = currentUser.id();
+        List<MatchDTO> matches = matchService.findMatchesForUser(userId, offset, limit);
         return ResponseEntity.ok(matches);
     }
 
     // New endpoint - returns categorized matches (perfect, good, potential)
+    // offset/limit apply to each category separately
     @GetMapping("/categorized")
-    public ResponseEntity<Map<String, List<MatchDTO>>> getCategorizedMatches(@RequestHeader("Authorization") String authHeader) {
-        Long userId = getUserIdFromToken(authHeader);
-        Map<String, List<MatchDTO>> categorizedMatches = matchService.findCategorizedMatchesForUser(userId);
+    public ResponseEntity<Map<String, List<MatchDTO>>> getCategorizedMatches(
+            AuthenticatedUser currentUser,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit) {
+        Long userId = currentUser.id();
+        Map<String, List<MatchDTO>> categorizedMatches = matchMaterializer.findCategorizedMatches(userId, offset, limit);
         return ResponseEntity.ok(categorizedMatches);
     }
 
@@ -42,19 +50,4 @@ public class MatchController {
         Map<String, List<in.sb.SkillSwap.dto.UserDTO>> users = matchService.findUsersBySkill(skillId);
         return ResponseEntity.ok(users);
     }
-
-    private Long getUserIdFromToken(String authHeader) {
-        String token = extractToken(authHeader);
-        if (token == null || !userService.validateToken(token)) {
-            throw new RuntimeException("Invalid or expired token");
-        }
-        return userService.getUserFromToken(token).getId();
-    }
-
-    private String extractToken(String authHeader) {
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            return authHeader.substring(7);
-        }
-        return null;
-    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package in.sb.SkillSwap.controller;
 
+import in.sb.SkillSwap.dto.AuthenticatedUser;
+import in.sb.SkillSwap.dto.CursorPageDTO;
 import in.sb.SkillSwap.dto.SessionDTO;
 import in.sb.SkillSwap.exception.AuthException;
 import in.sb.SkillSwap.model.Session;
@@ -8,7 +10,6 @@ import in.sb.SkillSwap.model.SwapRequestStatus;
 import in.sb.SkillSwap.repository.SessionRepository;
 import in.sb.SkillSwap.repository.SwapRequestRepository;
 import in.sb.SkillSwap.service.SessionService;
-import in.sb.SkillSwap.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -26,9 +27,6 @@ public class SessionController {
     @Autowired
     private SessionService sessionService;
 
-    @Autowired
-    private UserService userService;
-
     @Autowired
     private SwapRequestRepository swapRequestRepository;
 
@@ -38,8 +36,8 @@ public class SessionController {
     // Get all sessions for user
     @GetMapping
     public ResponseEntity<List<SessionDTO>> getSessions(
-            @RequestHeader("Authorization") String authHeader) {
-        Long userId = getUserIdFromToken(authHeader);
+            AuthenticatedUser currentUser) {
+        Long userId = currentUser.id();
         List<SessionDTO> sessions = sessionService.getSessionsForUser(userId);
         return ResponseEntity.ok(sessions);
     }
@@ -47,18 +45,30 @@ public class SessionController {
     // Get sessions categorized by status
     @GetMapping("/categorized")
     public ResponseEntity<Map<String, List<SessionDTO>>> getCategorizedSessions(
-            @RequestHeader("Authorization") String authHeader) {
-        Long userId = getUserIdFromToken(authHeader);
+            AuthenticatedUser currentUser) {
+        Long userId = currentUser.id();
         Map<String, List<SessionDTO>> sessions = sessionService.getSessionsByStatus(userId);
         return ResponseEntity.ok(sessions);
     }
 
+    // One keyset page of a status bucket: created, upcoming, inProgress or completed
+    @GetMapping("/categorized/{bucket}")
+    public ResponseEntity<CursorPageDTO<SessionDTO>> getSessionBucket(
+            AuthenticatedUser currentUser,
+            @PathVariable String bucket,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        Long userId = currentUser.id();
+        CursorPageDTO<SessionDTO> page = sessionService.getSessionBucket(userId, bucket, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
     // Get session by ID
     @GetMapping("/{sessionId}")
     public ResponseEntity<SessionDTO> getSessionById(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long sessionId) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         SessionDTO session = sessionService.getSessionById(sessionId, userId);
         return ResponseEntity.ok(session);
     }
@@ -66,11 +76,11 @@ public class SessionController {
     // Schedule a session
     @PutMapping("/{sessionId}/schedule")
     public ResponseEntity<SessionDTO> scheduleSession(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long sessionId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime scheduledDate,
             @RequestParam Integer duration) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         SessionDTO session = sessionService.scheduleSession(sessionId, scheduledDate, duration, userId);
         return ResponseEntity.ok(session);
     }
@@ -78,9 +88,9 @@ public class SessionController {
     // Start a session
     @PutMapping("/{sessionId}/start")
     public ResponseEntity<SessionDTO> startSession(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long sessionId) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         SessionDTO session = sessionService.startSession(sessionId, userId);
         return ResponseEntity.ok(session);
     }
@@ -88,9 +98,9 @@ public class SessionController {
     // Complete a session
     @PutMapping("/{sessionId}/complete")
     public ResponseEntity<SessionDTO> completeSession(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long sessionId) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         SessionDTO session = sessionService.completeSession(sessionId, userId);
         return ResponseEntity.ok(session);
     }
@@ -98,11 +108,11 @@ public class SessionController {
     // Update meeting URL
     @PutMapping("/{sessionId}/meeting-url")
     public ResponseEntity<SessionDTO> addMeetingUrl(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long sessionId,
             @RequestParam String meetingUrl,
             @RequestParam String meetingPlatform) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         SessionDTO session = sessionService.addMeetingUrl(sessionId, meetingUrl, meetingPlatform, userId);
         return ResponseEntity.ok(session);
     }
@@ -110,10 +120,10 @@ public class SessionController {
     // Update session notes
     @PutMapping("/{sessionId}/notes")
     public ResponseEntity<SessionDTO> updateSessionNotes(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long sessionId,
             @RequestParam String notes) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         SessionDTO session = sessionService.updateSessionNotes(sessionId, notes, userId);
         return ResponseEntity.ok(session);
     }
@@ -121,10 +131,10 @@ public class SessionController {
     // Add shared resources
     @PutMapping("/{sessionId}/resources")
     public ResponseEntity<SessionDTO> addSharedResources(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long sessionId,
             @RequestParam String resources) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         SessionDTO session = sessionService.addSharedResources(sessionId, resources, userId);
         return ResponseEntity.ok(session);
     }
@@ -132,13 +142,13 @@ public class SessionController {
     // Create session from accepted swap request
     @PostMapping("/create-from-request/{requestId}")
     public ResponseEntity<SessionDTO> createSessionFromRequest(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long requestId) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
 
         try {
             // Fetch the swap request
-            SwapRequest swapRequest = swapRequestRepository.findById(requestId)
+            SwapRequest swapRequest = swapRequestRepository.findWithParticipantsById(requestId)
                     .orElseThrow(() -> new AuthException("Swap request not found"));
 
             // Check if user is sender or receiver
@@ -175,11 +185,11 @@ public class SessionController {
     // Get Jitsi meeting link for session
     @GetMapping("/{sessionId}/meeting-link")
     public ResponseEntity<Map<String, String>> getMeetingLink(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long sessionId) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         
-        Session session = sessionRepository.findById(sessionId)
+        Session session = sessionRepository.findDetailById(sessionId)
                 .orElseThrow(() -> new AuthException("Session not found"));
 
         // Verify user is part of the session
@@ -198,26 +208,12 @@ public class SessionController {
         return ResponseEntity.ok(response);
     }
 
-    private Long getUserIdFromToken(String authHeader) {
-        String token = extractToken(authHeader);
-        if (token == null || !userService.validateToken(token)) {
-            throw new RuntimeException("Invalid or expired token");
-        }
-        return userService.getUserFromToken(token).getId();
-    }
-
-    private String extractToken(String authHeader) {
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            return authHeader.substring(7);
-        }
-        return null;
-    }
 
     @GetMapping("/{sessionId}/meeting-details")
     public ResponseEntity<Map<String, Object>> getMeetingDetails(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long sessionId) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         Map<String, Object> meetingDetails = sessionService.getMeetingDetails(sessionId, userId);
         return ResponseEntity.ok(meetingDetails);
     }
@@ -225,9 +221,9 @@ public class SessionController {
  // Simple completion endpoint
     @PutMapping("/{sessionId}/mark-completed")
     public ResponseEntity<SessionDTO> markSessionAsCompleted(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long sessionId) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         SessionDTO session = sessionService.markAsCompleted(sessionId, userId);
         return ResponseEntity.ok(session);
     }
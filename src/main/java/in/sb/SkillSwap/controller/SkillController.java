@@ -1,15 +1,17 @@
 package in.sb.SkillSwap.controller;
 
+import in.sb.SkillSwap.dto.AuthenticatedUser;
 import in.sb.SkillSwap.dto.SkillDTO;
+import in.sb.SkillSwap.dto.SkillProfileRequest;
 import in.sb.SkillSwap.dto.UserSkillRequest;
 import in.sb.SkillSwap.dto.UserSkillResponse;
 import in.sb.SkillSwap.service.SkillService;
-import in.sb.SkillSwap.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/skills")
@@ -18,9 +20,6 @@ public class SkillController {
     @Autowired
     private SkillService skillService;
 
-    @Autowired
-    private UserService userService;
-
     // Public endpoints - don't require authentication
     @GetMapping
     public ResponseEntity<List<SkillDTO>> getAllSkills() {
@@ -29,8 +28,10 @@ public class SkillController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<SkillDTO>> searchSkills(@RequestParam String query) {
-        List<SkillDTO> skills = skillService.searchSkills(query);
+    public ResponseEntity<List<SkillDTO>> searchSkills(
+            @RequestParam String query,
+            @RequestParam(required = false) Integer limit) {
+        List<SkillDTO> skills = skillService.searchSkills(query, limit);
         return ResponseEntity.ok(skills);
     }
 
@@ -43,69 +44,63 @@ public class SkillController {
     // User-specific endpoints - require authentication
     @PostMapping("/teach")
     public ResponseEntity<UserSkillResponse> addTeachSkill(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @RequestBody UserSkillRequest request) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         UserSkillResponse response = skillService.addTeachSkill(userId, request);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/teach")
     public ResponseEntity<List<UserSkillResponse>> getTeachSkills(
-            @RequestHeader("Authorization") String authHeader) {
-        Long userId = getUserIdFromToken(authHeader);
+            AuthenticatedUser currentUser) {
+        Long userId = currentUser.id();
         List<UserSkillResponse> skills = skillService.getTeachSkills(userId);
         return ResponseEntity.ok(skills);
     }
 
     @DeleteMapping("/teach/{skillId}")
     public ResponseEntity<Void> removeTeachSkill(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long skillId) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         skillService.removeTeachSkill(userId, skillId);
         return ResponseEntity.ok().build();
     }
 
+    // Replaces the caller's teach and learn lists in one request
+    @PutMapping("/profile")
+    public ResponseEntity<Map<String, List<UserSkillResponse>>> updateSkillProfile(
+            AuthenticatedUser currentUser,
+            @RequestBody SkillProfileRequest request) {
+        Long userId = currentUser.id();
+        Map<String, List<UserSkillResponse>> profile = skillService.updateSkillProfile(userId, request);
+        return ResponseEntity.ok(profile);
+    }
+
     @PostMapping("/learn")
     public ResponseEntity<UserSkillResponse> addLearnSkill(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @RequestBody UserSkillRequest request) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         UserSkillResponse response = skillService.addLearnSkill(userId, request);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/learn")
     public ResponseEntity<List<UserSkillResponse>> getLearnSkills(
-            @RequestHeader("Authorization") String authHeader) {
-        Long userId = getUserIdFromToken(authHeader);
+            AuthenticatedUser currentUser) {
+        Long userId = currentUser.id();
         List<UserSkillResponse> skills = skillService.getLearnSkills(userId);
         return ResponseEntity.ok(skills);
     }
 
     @DeleteMapping("/learn/{skillId}")
     public ResponseEntity<Void> removeLearnSkill(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long skillId) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         skillService.removeLearnSkill(userId, skillId);
         return ResponseEntity.ok().build();
     }
-
-    // Helper method to extract user ID from token
-    private Long getUserIdFromToken(String authHeader) {
-        String token = extractToken(authHeader);
-        if (token == null || !userService.validateToken(token)) {
-            throw new RuntimeException("Invalid or expired token");
-        }
-        return userService.getUserFromToken(token).getId();
-    }
-
-    private String extractToken(String authHeader) {
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            return authHeader.substring(7);
-        }
-        return null;
-    }
 }
\ No newline at end of file
@@ -1,9 +1,10 @@
 package in.sb.SkillSwap.controller;
 
+import in.sb.SkillSwap.dto.AuthenticatedUser;
+import in.sb.SkillSwap.dto.CursorPageDTO;
 import in.sb.SkillSwap.dto.SwapRequestCreateDTO;
 import in.sb.SkillSwap.dto.SwapRequestDTO;
 import in.sb.SkillSwap.service.SwapRequestService;
-import in.sb.SkillSwap.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,82 +18,87 @@ public class SwapRequestController {
     @Autowired
     private SwapRequestService swapRequestService;
 
-    @Autowired
-    private UserService userService;
-
     @PostMapping
     public ResponseEntity<SwapRequestDTO> createSwapRequest(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @RequestBody SwapRequestCreateDTO requestDTO) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         SwapRequestDTO createdRequest = swapRequestService.createSwapRequest(userId, requestDTO);
         return ResponseEntity.ok(createdRequest);
     }
 
     @GetMapping("/sent")
     public ResponseEntity<List<SwapRequestDTO>> getSentRequests(
-            @RequestHeader("Authorization") String authHeader) {
-        Long userId = getUserIdFromToken(authHeader);
+            AuthenticatedUser currentUser) {
+        Long userId = currentUser.id();
         List<SwapRequestDTO> requests = swapRequestService.getSentRequests(userId);
         return ResponseEntity.ok(requests);
     }
 
     @GetMapping("/received")
     public ResponseEntity<List<SwapRequestDTO>> getReceivedRequests(
-            @RequestHeader("Authorization") String authHeader) {
-        Long userId = getUserIdFromToken(authHeader);
+            AuthenticatedUser currentUser) {
+        Long userId = currentUser.id();
         List<SwapRequestDTO> requests = swapRequestService.getReceivedRequests(userId);
         return ResponseEntity.ok(requests);
     }
 
+    // Paged variants of /received and /sent: ?status=PENDING&cursor=...&limit=20
+    @GetMapping("/inbox")
+    public ResponseEntity<CursorPageDTO<SwapRequestDTO>> getInbox(
+            AuthenticatedUser currentUser,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        Long userId = currentUser.id();
+        CursorPageDTO<SwapRequestDTO> page = swapRequestService.getRequestPage(userId, "inbox", status, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/outbox")
+    public ResponseEntity<CursorPageDTO<SwapRequestDTO>> getOutbox(
+            AuthenticatedUser currentUser,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        Long userId = currentUser.id();
+        CursorPageDTO<SwapRequestDTO> page = swapRequestService.getRequestPage(userId, "outbox", status, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{requestId}")
     public ResponseEntity<SwapRequestDTO> getSwapRequestById(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long requestId) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         SwapRequestDTO request = swapRequestService.getSwapRequestById(requestId, userId);
         return ResponseEntity.ok(request);
     }
 
     @PutMapping("/{requestId}/accept")
     public ResponseEntity<SwapRequestDTO> acceptSwapRequest(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long requestId) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         SwapRequestDTO request = swapRequestService.acceptSwapRequest(requestId, userId);
         return ResponseEntity.ok(request);
     }
 
     @PutMapping("/{requestId}/reject")
     public ResponseEntity<SwapRequestDTO> rejectSwapRequest(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long requestId) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         SwapRequestDTO request = swapRequestService.rejectSwapRequest(requestId, userId);
         return ResponseEntity.ok(request);
     }
 
     @PutMapping("/{requestId}/cancel")
     public ResponseEntity<SwapRequestDTO> cancelSwapRequest(
-            @RequestHeader("Authorization") String authHeader,
+            AuthenticatedUser currentUser,
             @PathVariable Long requestId) {
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = currentUser.id();
         SwapRequestDTO request = swapRequestService.cancelSwapRequest(requestId, userId);
         return ResponseEntity.ok(request);
     }
-
-    private Long getUserIdFromToken(String authHeader) {
-        String token = extractToken(authHeader);
-        if (token == null || !userService.validateToken(token)) {
-            throw new RuntimeException("Invalid or expired token");
-        }
-        return userService.getUserFromToken(token).getId();
-    }
-
-    private String extractToken(String authHeader) {
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            return authHeader.substring(7);
-        }
-        return null;
-    }
 }
\ No newline at end of file
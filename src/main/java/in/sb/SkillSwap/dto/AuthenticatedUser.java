@@ -0,0 +1,5 @@
+package in.sb.SkillSwap.dto;
+
+// Caller identity taken from a verified JWT - resolved once per request, no database lookup
+public record AuthenticatedUser(Long id, String email) {
+}
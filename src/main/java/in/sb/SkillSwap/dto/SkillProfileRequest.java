@@ -0,0 +1,36 @@
+package in.sb.SkillSwap.dto;
+
+import java.util.List;
+
+// Full teach/learn lists for PUT /api/skills/profile; a null list leaves that side unchanged
+public class SkillProfileRequest {
+    private List<UserSkillRequest> teachSkills;
+    private List<UserSkillRequest> learnSkills;
+
+    // Default constructor
+    public SkillProfileRequest() {
+    }
+
+    // Constructor
+    public SkillProfileRequest(List<UserSkillRequest> teachSkills, List<UserSkillRequest> learnSkills) {
+        this.teachSkills = teachSkills;
+        this.learnSkills = learnSkills;
+    }
+
+    // Getters and Setters
+    public List<UserSkillRequest> getTeachSkills() {
+        return teachSkills;
+    }
+
+    public void setTeachSkills(List<UserSkillRequest> teachSkills) {
+        this.teachSkills = teachSkills;
+    }
+
+    public List<UserSkillRequest> getLearnSkills() {
+        return learnSkills;
+    }
+
+    public void setLearnSkills(List<UserSkillRequest> learnSkills) {
+        this.learnSkills = learnSkills;
+    }
+}
@@ -0,0 +1,16 @@
+package in.sb.SkillSwap.event;
+
+// Published by SkillCatalog when a new skill row is inserted
+public class SkillCatalogChangedEvent {
+    private final Long skillId;
+
+    // Constructor
+    public SkillCatalogChangedEvent(Long skillId) {
+        this.skillId = skillId;
+    }
+
+    // Getters
+    public Long getSkillId() {
+        return skillId;
+    }
+}
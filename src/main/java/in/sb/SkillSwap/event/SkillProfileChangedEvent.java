@@ -0,0 +1,59 @@
+package in.sb.SkillSwap.event;
+
+import java.util.List;
+
+// Published by SkillService whenever a user's teach/learn skill set changes
+public class SkillProfileChangedEvent {
+    private final Long userId;
+    private final List<Long> addedTeachSkillIds;
+    private final List<Long> removedTeachSkillIds;
+    private final List<Long> addedLearnSkillIds;
+    private final List<Long> removedLearnSkillIds;
+
+    // Constructor
+    public SkillProfileChangedEvent(Long userId, List<Long> addedTeachSkillIds, List<Long> removedTeachSkillIds,
+                                    List<Long> addedLearnSkillIds, List<Long> removedLearnSkillIds) {
+        this.userId = userId;
+        this.addedTeachSkillIds = addedTeachSkillIds;
+        this.removedTeachSkillIds = removedTeachSkillIds;
+        this.addedLearnSkillIds = addedLearnSkillIds;
+        this.removedLearnSkillIds = removedLearnSkillIds;
+    }
+
+    public static SkillProfileChangedEvent teachSkillAdded(Long userId, Long skillId) {
+        return new SkillProfileChangedEvent(userId, List.of(skillId), List.of(), List.of(), List.of());
+    }
+
+    public static SkillProfileChangedEvent teachSkillRemoved(Long userId, Long skillId) {
+        return new SkillProfileChangedEvent(userId, List.of(), List.of(skillId), List.of(), List.of());
+    }
+
+    public static SkillProfileChangedEvent learnSkillAdded(Long userId, Long skillId) {
+        return new SkillProfileChangedEvent(userId, List.of(), List.of(), List.of(skillId), List.of());
+    }
+
+    public static SkillProfileChangedEvent learnSkillRemoved(Long userId, Long skillId) {
+        return new SkillProfileChangedEvent(userId, List.of(), List.of(), List.of(), List.of(skillId));
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public List<Long> getAddedTeachSkillIds() {
+        return addedTeachSkillIds;
+    }
+
+    public List<Long> getRemovedTeachSkillIds() {
+        return removedTeachSkillIds;
+    }
+
+    public List<Long> getAddedLearnSkillIds() {
+        return addedLearnSkillIds;
+    }
+
+    public List<Long> getRemovedLearnSkillIds() {
+        return removedLearnSkillIds;
+    }
+}
@@ -1,25 +1,33 @@
 package in.sb.SkillSwap.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "progress_tracking")
+@Table(name = "progress_tracking", indexes = {
+        // Every confirmation read/update is keyed by session and user
+        @Index(name = "idx_progress_tracking_session_user", columnList = "session_id, user_id")
+})
 public class ProgressTracking {
 
+    // Pooled table ids instead of IDENTITY, so Hibernate can batch the four rows written per session.
+    // IdGeneratorAlignment moves the generator past any ids an older IDENTITY column handed out.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "progress_tracking_id")
+    @TableGenerator(name = "progress_tracking_id", table = "id_generators", pkColumnName = "generator",
+            valueColumnName = "next_val", pkColumnValue = "progress_tracking", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "session_id", nullable = false)
     private Session session;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "skill_id", nullable = false)
     private Skill skill;
 
@@ -41,6 +49,12 @@ public class ProgressTracking {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Optimistic lock on the confirmation flags
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -116,10 +130,6 @@ public class ProgressTracking {
         return ratingGiven;
     }
 
-    public void setRatingGiven(Integer ratingGiven) {
-        this.ratingGiven = ratingGiven;
-    }
-
     public String getFeedback() {
         return feedback;
     }
@@ -144,6 +154,14 @@ public class ProgressTracking {
         this.createdAt = createdAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // Helper method to check if both confirmed
     public boolean isBothConfirmed() {
         return taughtConfirmed && learnedConfirmed;
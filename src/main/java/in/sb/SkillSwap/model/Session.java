@@ -1,20 +1,41 @@
 package in.sb.SkillSwap.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sessions")
+@Table(name = "sessions", indexes = {
+        // Keyset pagination of the upcoming and completed buckets
+        @Index(name = "idx_sessions_status_scheduled_date", columnList = "status, scheduled_date"),
+        @Index(name = "idx_sessions_status_completed_at", columnList = "status, completed_at"),
+        // Per-user lookups seek on one participant column instead of joining swap_requests
+        @Index(name = "idx_sessions_participant_a", columnList = "participant_a_id, status"),
+        @Index(name = "idx_sessions_participant_b", columnList = "participant_b_id, status")
+})
+// Session detail page: the swap request with both users and both skills, in the same SELECT
+@NamedEntityGraph(name = "Session.detail", attributeNodes = @NamedAttributeNode(value = "swapRequest", subgraph = "swapRequest"),
+        subgraphs = @NamedSubgraph(name = "swapRequest", attributeNodes = {
+                @NamedAttributeNode("sender"), @NamedAttributeNode("receiver"),
+                @NamedAttributeNode("teachSkill"), @NamedAttributeNode("learnSkill")
+        }))
 public class Session {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "swap_request_id", nullable = false)
     private SwapRequest swapRequest;
 
+    // Copies of swapRequest.sender / swapRequest.receiver ids, kept in sync by setSwapRequest
+    @Column(name = "participant_a_id")
+    private Long participantAId;
+
+    @Column(name = "participant_b_id")
+    private Long participantBId;
+
     @Column
     private String title;
 
@@ -52,6 +73,12 @@ public class Session {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    // Optimistic lock: concurrent confirmations of the same session conflict instead of overwriting each other
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -69,7 +96,7 @@ public class Session {
 
     // Constructor
     public Session(SwapRequest swapRequest, String title, String description) {
-        this.swapRequest = swapRequest;
+        setSwapRequest(swapRequest);
         this.title = title;
         this.description = description;
     }
@@ -89,6 +116,24 @@ public class Session {
 
     public void setSwapRequest(SwapRequest swapRequest) {
         this.swapRequest = swapRequest;
+        this.participantAId = swapRequest == null || swapRequest.getSender() == null ? null : swapRequest.getSender().getId();
+        this.participantBId = swapRequest == null || swapRequest.getReceiver() == null ? null : swapRequest.getReceiver().getId();
+    }
+
+    public Long getParticipantAId() {
+        return participantAId;
+    }
+
+    public void setParticipantAId(Long participantAId) {
+        this.participantAId = participantAId;
+    }
+
+    public Long getParticipantBId() {
+        return participantBId;
+    }
+
+    public void setParticipantBId(Long participantBId) {
+        this.participantBId = participantBId;
     }
 
     public String getTitle() {
@@ -186,4 +231,12 @@ public class Session {
     public void setCompletedAt(LocalDateTime completedAt) {
         this.completedAt = completedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -1,29 +1,40 @@
 package in.sb.SkillSwap.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "swap_requests")
+@Table(name = "swap_requests", indexes = {
+        // Inbox/outbox pages: one user's requests, optionally of one status, newest first.
+        // The leading participant column also serves every plain "requests of this user" lookup.
+        @Index(name = "idx_swap_requests_receiver_status_created", columnList = "receiver_id, status, created_at"),
+        @Index(name = "idx_swap_requests_sender_status_created", columnList = "sender_id, status, created_at")
+})
+// Request lists and single-request views: both users and both skills, in the same SELECT
+@NamedEntityGraph(name = "SwapRequest.participants", attributeNodes = {
+        @NamedAttributeNode("sender"), @NamedAttributeNode("receiver"),
+        @NamedAttributeNode("teachSkill"), @NamedAttributeNode("learnSkill")
+})
 public class SwapRequest {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sender_id", nullable = false)
     private User sender;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "receiver_id", nullable = false)
     private User receiver;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "teach_skill_id")
     private Skill teachSkill; // What sender will teach
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "learn_skill_id")
     private Skill learnSkill; // What sender wants to learn
 
@@ -40,6 +51,13 @@ public class SwapRequest {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: of an accept and a reject racing on the same request only one commits; the loser's retry
+    // then sees the new status and is refused by SwapRequestService
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -136,4 +154,12 @@ public class SwapRequest {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -29,8 +29,12 @@ public class User {
     @Column
     private String profilePictureUrl;
 
-    @Column
-    private Double rating = 0.0;
+    // Running totals of every rating received, bumped with atomic UPDATEs; the rating itself is derived on read
+    @Column(name = "rating_sum")
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_count")
+    private Long ratingCount = 0L;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -118,12 +122,33 @@ public class User {
         this.profilePictureUrl = profilePictureUrl;
     }
 
+    // Mean of all ratings received, rounded to one decimal; 0.0 until the first rating
     public Double getRating() {
-        return rating;
+        return averageRating(ratingSum, ratingCount);
+    }
+
+    // Same mean for projections that read rating_sum/rating_count without loading the entity
+    public static Double averageRating(Long ratingSum, Long ratingCount) {
+        if (ratingCount == null || ratingCount == 0 || ratingSum == null) {
+            return 0.0;
+        }
+        return Math.round(ratingSum * 10.0 / ratingCount) / 10.0;
+    }
+
+    public Long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(Long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public Long getRatingCount() {
+        return ratingCount;
     }
 
-    public void setRating(Double rating) {
-        this.rating = rating;
+    public void setRatingCount(Long ratingCount) {
+        this.ratingCount = ratingCount;
     }
 
     public LocalDateTime getCreatedAt() {
@@ -0,0 +1,92 @@
+package in.sb.SkillSwap.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Materialized categorized matches for one user (see MatchMaterializer).
+// Each bucket is a ranked JSON array of {userId, score, youTeachThem, theyTeachYou, skillYouCanTeachThem,
+// skillTheyCanTeachYou} entries.
+@Entity
+@Table(name = "user_matches")
+public class UserMatchSnapshot {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Lob
+    @Column(name = "perfect_matches")
+    private String perfectMatches;
+
+    @Lob
+    @Column(name = "good_matches")
+    private String goodMatches;
+
+    @Lob
+    @Column(name = "potential_matches")
+    private String potentialMatches;
+
+    @Column(nullable = false)
+    private Boolean stale = false;
+
+    @Column(name = "refreshed_at")
+    private LocalDateTime refreshedAt;
+
+    // Default constructor
+    public UserMatchSnapshot() {
+    }
+
+    // Constructor
+    public UserMatchSnapshot(Long userId) {
+        this.userId = userId;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getPerfectMatches() {
+        return perfectMatches;
+    }
+
+    public void setPerfectMatches(String perfectMatches) {
+        this.perfectMatches = perfectMatches;
+    }
+
+    public String getGoodMatches() {
+        return goodMatches;
+    }
+
+    public void setGoodMatches(String goodMatches) {
+        this.goodMatches = goodMatches;
+    }
+
+    public String getPotentialMatches() {
+        return potentialMatches;
+    }
+
+    public void setPotentialMatches(String potentialMatches) {
+        this.potentialMatches = potentialMatches;
+    }
+
+    public Boolean getStale() {
+        return stale;
+    }
+
+    public void setStale(Boolean stale) {
+        this.stale = stale;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+}
@@ -5,17 +5,23 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "user_teach_skills")
+// A user's own skill list shows the skills; match candidate lookups by skill show the users
+@NamedEntityGraph(name = "UserTeachSkill.skill", attributeNodes = @NamedAttributeNode("skill"))
+@NamedEntityGraph(name = "UserTeachSkill.user", attributeNodes = @NamedAttributeNode("user"))
 public class UserTeachSkill {
 
+    // Pooled table ids so a bulk profile update inserts its rows in JDBC batches (see IdGeneratorAlignment)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_teach_skills_id")
+    @TableGenerator(name = "user_teach_skills_id", table = "id_generators", pkColumnName = "generator",
+            valueColumnName = "next_val", pkColumnValue = "user_teach_skills", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "skill_id", nullable = false)
     private Skill skill;
 
@@ -4,12 +4,15 @@ import in.sb.SkillSwap.model.ProgressTracking;
 import in.sb.SkillSwap.model.Session;
 import in.sb.SkillSwap.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface ProgressTrackingRepository extends JpaRepository<ProgressTracking, Long> {
@@ -27,4 +30,41 @@ public interface ProgressTrackingRepository extends JpaRepository<ProgressTracki
     
     @Query("SELECT pt FROM ProgressTracking pt WHERE pt.user = :user AND pt.learnedConfirmed = true")
     List<ProgressTracking> findConfirmedLearnedSkills(@Param("user") User user);
+
+    // Session-scoped lookups, served by the (session_id, user_id) index
+    @Query("SELECT DISTINCT pt.user.id FROM ProgressTracking pt " +
+           "WHERE pt.session.id = :sessionId AND pt.taughtConfirmed = true AND pt.learnedConfirmed = true")
+    Set<Long> findFullyConfirmedUserIds(@Param("sessionId") Long sessionId);
+
+    // Confirms the row for the skill the user taught and the row for the skill they learned in one statement.
+    // confirmedAt is stamped only on rows whose flag flips; it is assigned first because MySQL evaluates
+    // SET assignments left to right against the already updated values.
+    @Modifying
+    @Query("UPDATE VERSIONED ProgressTracking pt SET " +
+           "pt.confirmedAt = CASE " +
+           "WHEN pt.skill.id = :taughtSkillId AND COALESCE(pt.taughtConfirmed, false) = false THEN :now " +
+           "WHEN pt.skill.id = :learnedSkillId AND pt.skill.id <> :taughtSkillId " +
+           "AND COALESCE(pt.learnedConfirmed, false) = false THEN :now " +
+           "ELSE pt.confirmedAt END, " +
+           "pt.taughtConfirmed = CASE WHEN pt.skill.id = :taughtSkillId THEN true ELSE pt.taughtConfirmed END, " +
+           "pt.learnedConfirmed = CASE WHEN pt.skill.id = :learnedSkillId AND pt.skill.id <> :taughtSkillId " +
+           "THEN true ELSE pt.learnedConfirmed END " +
+           "WHERE pt.session.id = :sessionId AND pt.user.id = :userId")
+    int confirmSkills(@Param("sessionId") Long sessionId, @Param("userId") Long userId,
+                      @Param("taughtSkillId") Long taughtSkillId, @Param("learnedSkillId") Long learnedSkillId,
+                      @Param("now") LocalDateTime now);
+
+    // Per-user rating totals of one session, aggregated in the database
+    @Query("SELECT new in.sb.SkillSwap.repository.RatingTotals(pt.user.id, SUM(pt.ratingGiven), COUNT(pt.ratingGiven)) " +
+           "FROM ProgressTracking pt WHERE pt.session.id = :sessionId AND pt.ratingGiven IS NOT NULL GROUP BY pt.user.id")
+    List<RatingTotals> findRatingTotals(@Param("sessionId") Long sessionId);
+
+    // Same confirmedAt rule as confirmSkills: stamped only when one of the flags was still unset
+    @Modifying
+    @Query("UPDATE VERSIONED ProgressTracking pt SET " +
+           "pt.confirmedAt = CASE WHEN COALESCE(pt.taughtConfirmed, false) = false " +
+           "OR COALESCE(pt.learnedConfirmed, false) = false THEN :now ELSE pt.confirmedAt END, " +
+           "pt.taughtConfirmed = true, pt.learnedConfirmed = true " +
+           "WHERE pt.session.id = :sessionId AND pt.user.id = :userId")
+    int confirmAll(@Param("sessionId") Long sessionId, @Param("userId") Long userId, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package in.sb.SkillSwap.repository;
+
+// Sum and number of the ratings recorded for one user in one session
+public class RatingTotals {
+    private final Long userId;
+    private final Long sum;
+    private final Long count;
+
+    // Constructor (used by JPQL constructor expressions)
+    public RatingTotals(Long userId, Long sum, Long count) {
+        this.userId = userId;
+        this.sum = sum;
+        this.count = count;
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getSum() {
+        return sum;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+}
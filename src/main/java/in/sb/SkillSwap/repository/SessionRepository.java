@@ -3,30 +3,88 @@ package in.sb.SkillSwap.repository;
 import in.sb.SkillSwap.model.Session;
 import in.sb.SkillSwap.model.SessionStatus;
 import in.sb.SkillSwap.model.SwapRequest;
-import in.sb.SkillSwap.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SessionRepository extends JpaRepository<Session, Long> {
     List<Session> findBySwapRequest(SwapRequest swapRequest);
+
+    // Bumps the version on commit even if the session row itself is unchanged, so two participants
+    // confirming the same session at once conflict and one of them is retried
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT s FROM Session s WHERE s.id = :id")
+    Optional<Session> findByIdForConfirmation(@Param("id") Long id);
+
+    @EntityGraph("Session.detail")
+    Optional<Session> findDetailById(Long id);
     
-    // Find sessions where user is either sender or receiver
-    @Query("SELECT s FROM Session s WHERE s.swapRequest.sender = :user OR s.swapRequest.receiver = :user")
-    List<Session> findByUser(@Param("user") User user);
+    // Find sessions where user is either sender or receiver (the denormalized participant columns, no join)
+    @Query("SELECT s FROM Session s WHERE s.participantAId = :userId OR s.participantBId = :userId")
+    List<Session> findByUser(@Param("userId") Long userId);
     
     List<Session> findByStatus(SessionStatus status);
     
     // Find sessions by user and status
-    @Query("SELECT s FROM Session s WHERE (s.swapRequest.sender = :user OR s.swapRequest.receiver = :user) AND s.status = :status")
-    List<Session> findByUserAndStatus(@Param("user") User user, @Param("status") SessionStatus status);
+    @Query("SELECT s FROM Session s WHERE (s.participantAId = :userId OR s.participantBId = :userId) AND s.status = :status")
+    List<Session> findByUserAndStatus(@Param("userId") Long userId, @Param("status") SessionStatus status);
     
     // Find upcoming sessions
     @Query("SELECT s FROM Session s WHERE s.scheduledDate IS NOT NULL AND s.scheduledDate > :start AND s.status = 'SCHEDULED'")
     List<Session> findUpcomingSessions(@Param("start") LocalDateTime start);
+
+    // Keyset pages for the categorized session buckets: rows strictly after the (date, id) cursor,
+    // sorted in the database so only one page is read. Page size comes from the Pageable.
+    // A missing date sorts as :missingDate (KeysetCursor.NEWEST ascending, OLDEST descending), so those rows
+    // come last instead of failing every comparison and dropping out of the bucket.
+    @Query("SELECT s FROM Session s WHERE (s.participantAId = :userId OR s.participantBId = :userId) AND s.status = :status " +
+           "AND (COALESCE(s.scheduledDate, :missingDate) > :afterDate " +
+           "OR (COALESCE(s.scheduledDate, :missingDate) = :afterDate AND s.id > :afterId)) " +
+           "ORDER BY COALESCE(s.scheduledDate, :missingDate) ASC, s.id ASC")
+    List<Session> findPageByScheduledDate(@Param("userId") Long userId, @Param("status") SessionStatus status,
+                                          @Param("missingDate") LocalDateTime missingDate,
+                                          @Param("afterDate") LocalDateTime afterDate, @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    @Query("SELECT s FROM Session s WHERE (s.participantAId = :userId OR s.participantBId = :userId) AND s.status = :status " +
+           "AND (COALESCE(s.completedAt, :missingDate) < :beforeDate " +
+           "OR (COALESCE(s.completedAt, :missingDate) = :beforeDate AND s.id < :beforeId)) " +
+           "ORDER BY COALESCE(s.completedAt, :missingDate) DESC, s.id DESC")
+    List<Session> findPageByCompletedAt(@Param("userId") Long userId, @Param("status") SessionStatus status,
+                                        @Param("missingDate") LocalDateTime missingDate,
+                                        @Param("beforeDate") LocalDateTime beforeDate, @Param("beforeId") Long beforeId,
+                                        Pageable pageable);
+
+    // created_at is NOT NULL, so no COALESCE here
+    @Query("SELECT s FROM Session s WHERE (s.participantAId = :userId OR s.participantBId = :userId) AND s.status = :status " +
+           "AND (s.createdAt < :beforeDate OR (s.createdAt = :beforeDate AND s.id < :beforeId)) " +
+           "ORDER BY s.createdAt DESC, s.id DESC")
+    List<Session> findPageByCreatedAt(@Param("userId") Long userId, @Param("status") SessionStatus status,
+                                      @Param("beforeDate") LocalDateTime beforeDate, @Param("beforeId") Long beforeId,
+                                      Pageable pageable);
+
+    // Backfill of the participant columns for rows written before they existed
+    @Query("SELECT s.id FROM Session s WHERE s.participantAId IS NULL OR s.participantBId IS NULL ORDER BY s.id")
+    List<Long> findIdsMissingParticipants(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Session s SET " +
+           "s.participantAId = (SELECT r.sender.id FROM SwapRequest r WHERE r.id = s.swapRequest.id), " +
+           "s.participantBId = (SELECT r.receiver.id FROM SwapRequest r WHERE r.id = s.swapRequest.id) " +
+           "WHERE s.id IN :ids")
+    int backfillParticipants(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -1,8 +1,14 @@
 package in.sb.SkillSwap.repository;
 
 import in.sb.SkillSwap.model.Skill;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,4 +18,21 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
     Optional<Skill> findByName(String name);
     List<Skill> findByCategory(String category);
     List<Skill> findByNameContainingIgnoreCase(String name);
+
+    // Insert-if-absent on the unique name: a duplicate leaves the existing row as it is instead of raising an error.
+    // If another transaction has the same name uncommitted, this waits on the unique key until it settles.
+    // Unlike INSERT IGNORE, any other problem (too long, NOT NULL) still fails the statement.
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO skills (name, description, category, created_at, updated_at) " +
+                   "VALUES (:name, :description, :category, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE id = id", nativeQuery = true)
+    void insertIfAbsent(@Param("name") String name, @Param("description") String description,
+                        @Param("category") String category);
+
+    // Locking read, so it sees the latest committed row rather than the transaction's snapshot
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT s FROM Skill s WHERE s.name = :name")
+    Optional<Skill> findByNameForShare(@Param("name") String name);
 }
\ No newline at end of file
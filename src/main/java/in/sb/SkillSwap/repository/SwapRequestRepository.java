@@ -3,17 +3,67 @@ package in.sb.SkillSwap.repository;
 import in.sb.SkillSwap.model.SwapRequest;
 import in.sb.SkillSwap.model.SwapRequestStatus;
 import in.sb.SkillSwap.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SwapRequestRepository extends JpaRepository<SwapRequest, Long> {
+    @EntityGraph("SwapRequest.participants")
     List<SwapRequest> findBySender(User sender);
+
+    @EntityGraph("SwapRequest.participants")
     List<SwapRequest> findByReceiver(User receiver);
+
+    @EntityGraph("SwapRequest.participants")
+    Optional<SwapRequest> findWithParticipantsById(Long id);
+
     List<SwapRequest> findBySenderAndStatus(User sender, SwapRequestStatus status);
     List<SwapRequest> findByReceiverAndStatus(User receiver, SwapRequestStatus status);
     List<SwapRequest> findBySenderOrReceiver(User user1, User user2);
     boolean existsBySenderAndReceiverAndStatus(User sender, User receiver, SwapRequestStatus status);
+
+    // Inbox/outbox rows projected straight from one joined SELECT, so no entity or association is loaded
+    String ROW_SELECT = "SELECT new in.sb.SkillSwap.repository.SwapRequestRow(r.id, r.status, r.message, r.createdAt, r.updatedAt, " +
+            "se.id, se.email, se.firstName, se.lastName, se.bio, se.ratingSum, se.ratingCount, " +
+            "re.id, re.email, re.firstName, re.lastName, re.bio, re.ratingSum, re.ratingCount, " +
+            "ts.id, ts.name, ts.description, ts.category, ls.id, ls.name, ls.description, ls.category) " +
+            "FROM SwapRequest r JOIN r.sender se JOIN r.receiver re LEFT JOIN r.teachSkill ts LEFT JOIN r.learnSkill ls ";
+    // Newest first, strictly before the (createdAt, id) cursor; page size comes from the Pageable.
+    // created_at is NOT NULL in the mapped schema; a row without it (hand-made schema) sorts as :missingDate
+    // (KeysetCursor.OLDEST), i.e. last, instead of being skipped by every comparison.
+    String BEFORE_CURSOR = "AND (COALESCE(r.createdAt, :missingDate) < :beforeDate " +
+            "OR (COALESCE(r.createdAt, :missingDate) = :beforeDate AND r.id < :beforeId)) " +
+            "ORDER BY COALESCE(r.createdAt, :missingDate) DESC, r.id DESC";
+
+    // Served by (receiver_id, status, created_at)
+    @Query(ROW_SELECT + "WHERE r.receiver.id = :userId " + BEFORE_CURSOR)
+    List<SwapRequestRow> findInboxPage(@Param("userId") Long userId, @Param("missingDate") LocalDateTime missingDate,
+                                       @Param("beforeDate") LocalDateTime beforeDate,
+                                       @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query(ROW_SELECT + "WHERE r.receiver.id = :userId AND r.status = :status " + BEFORE_CURSOR)
+    List<SwapRequestRow> findInboxPageByStatus(@Param("userId") Long userId, @Param("status") SwapRequestStatus status,
+                                               @Param("missingDate") LocalDateTime missingDate,
+                                               @Param("beforeDate") LocalDateTime beforeDate,
+                                               @Param("beforeId") Long beforeId, Pageable pageable);
+
+    // Served by (sender_id, status, created_at)
+    @Query(ROW_SELECT + "WHERE r.sender.id = :userId " + BEFORE_CURSOR)
+    List<SwapRequestRow> findOutboxPage(@Param("userId") Long userId, @Param("missingDate") LocalDateTime missingDate,
+                                        @Param("beforeDate") LocalDateTime beforeDate,
+                                        @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query(ROW_SELECT + "WHERE r.sender.id = :userId AND r.status = :status " + BEFORE_CURSOR)
+    List<SwapRequestRow> findOutboxPageByStatus(@Param("userId") Long userId, @Param("status") SwapRequestStatus status,
+                                                @Param("missingDate") LocalDateTime missingDate,
+                                                @Param("beforeDate") LocalDateTime beforeDate,
+                                                @Param("beforeId") Long beforeId, Pageable pageable);
 }
\ No newline at end of file
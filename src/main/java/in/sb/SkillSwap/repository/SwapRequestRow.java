@@ -0,0 +1,48 @@
+package in.sb.SkillSwap.repository;
+
+import in.sb.SkillSwap.dto.SkillDTO;
+import in.sb.SkillSwap.dto.SwapRequestDTO;
+import in.sb.SkillSwap.dto.UserDTO;
+import in.sb.SkillSwap.model.SwapRequestStatus;
+import in.sb.SkillSwap.model.User;
+
+import java.time.LocalDateTime;
+
+// One swap request with its users and skills, read as flat columns by a single joined query.
+// JPQL constructor expressions cannot nest, so the DTO tree is built from here.
+public class SwapRequestRow {
+    private final SwapRequestDTO dto;
+
+    // Constructor (used by JPQL constructor expressions)
+    public SwapRequestRow(Long id, SwapRequestStatus status, String message,
+                          LocalDateTime createdAt, LocalDateTime updatedAt,
+                          Long senderId, String senderEmail, String senderFirstName, String senderLastName,
+                          String senderBio, Long senderRatingSum, Long senderRatingCount,
+                          Long receiverId, String receiverEmail, String receiverFirstName, String receiverLastName,
+                          String receiverBio, Long receiverRatingSum, Long receiverRatingCount,
+                          Long teachSkillId, String teachSkillName, String teachSkillDescription, String teachSkillCategory,
+                          Long learnSkillId, String learnSkillName, String learnSkillDescription, String learnSkillCategory) {
+        UserDTO sender = new UserDTO(senderId, senderEmail, senderFirstName, senderLastName, senderBio,
+                User.averageRating(senderRatingSum, senderRatingCount));
+        UserDTO receiver = new UserDTO(receiverId, receiverEmail, receiverFirstName, receiverLastName, receiverBio,
+                User.averageRating(receiverRatingSum, receiverRatingCount));
+        SkillDTO teachSkill = teachSkillId == null ? null
+                : new SkillDTO(teachSkillId, teachSkillName, teachSkillDescription, teachSkillCategory);
+        SkillDTO learnSkill = learnSkillId == null ? null
+                : new SkillDTO(learnSkillId, learnSkillName, learnSkillDescription, learnSkillCategory);
+        this.dto = new SwapRequestDTO(id, sender, receiver, teachSkill, learnSkill, status, message, createdAt, updatedAt);
+    }
+
+    // Getters
+    public SwapRequestDTO getDto() {
+        return dto;
+    }
+
+    public Long getId() {
+        return dto.getId();
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return dto.getCreatedAt();
+    }
+}
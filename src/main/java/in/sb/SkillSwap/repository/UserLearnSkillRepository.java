@@ -3,18 +3,39 @@ package in.sb.SkillSwap.repository;
 import in.sb.SkillSwap.model.Skill;
 import in.sb.SkillSwap.model.User;
 import in.sb.SkillSwap.model.UserLearnSkill;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserLearnSkillRepository extends JpaRepository<UserLearnSkill, Long> {
+    @EntityGraph("UserLearnSkill.skill")
     List<UserLearnSkill> findByUser(User user);
+
+    @EntityGraph("UserLearnSkill.user")
     List<UserLearnSkill> findBySkill(Skill skill);
+
     Optional<UserLearnSkill> findByUserAndSkill(User user, Skill skill);
     boolean existsByUserAndSkill(User user, Skill skill);
     void deleteByUserAndSkill(User user, Skill skill);
     List<UserLearnSkill> findBySkillIn(List<Skill> skills);
+
+    // A user's whole list with the skills in the same round trip
+    @Query("SELECT s FROM UserLearnSkill s JOIN FETCH s.skill WHERE s.user.id = :userId")
+    List<UserLearnSkill> findByUserIdWithSkill(@Param("userId") Long userId);
+
+    // Used to build the in-memory match index
+    @Query("SELECT new in.sb.SkillSwap.repository.UserSkillPair(s.user.id, s.skill.id) FROM UserLearnSkill s")
+    List<UserSkillPair> findAllUserSkillPairs();
+
+    // Batch fetch for the matching path - one round trip for a whole set of users
+    @Query("SELECT new in.sb.SkillSwap.repository.UserSkillPair(s.user.id, s.skill.id) FROM UserLearnSkill s " +
+           "WHERE s.user.id IN :userIds")
+    List<UserSkillPair> findUserSkillPairsByUserIds(@Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package in.sb.SkillSwap.repository;
+
+import in.sb.SkillSwap.model.UserMatchSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserMatchSnapshotRepository extends JpaRepository<UserMatchSnapshot, Long> {
+
+    // Called from after-commit listeners, so it always runs in its own transaction
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE UserMatchSnapshot m SET m.stale = true WHERE m.userId IN :userIds")
+    int markStale(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT m.userId FROM UserMatchSnapshot m WHERE m.stale = true")
+    List<Long> findStaleUserIds();
+
+    long countByStaleTrue();
+}
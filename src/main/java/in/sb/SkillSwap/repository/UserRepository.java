@@ -2,7 +2,11 @@ package in.sb.SkillSwap.repository;
 
 import in.sb.SkillSwap.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -11,4 +15,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     // save() method is already available from JpaRepository
+
+    // Compare-and-set on the old hash, so a password changed in the meantime is never overwritten
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :oldPassword")
+    int updatePassword(@Param("id") Long id, @Param("oldPassword") String oldPassword,
+                       @Param("newPassword") String newPassword);
+
+    // In-place increment, so concurrent session completions never overwrite each other's ratings
+    @Modifying
+    @Query("UPDATE User u SET u.ratingSum = COALESCE(u.ratingSum, 0) + :sum, " +
+           "u.ratingCount = COALESCE(u.ratingCount, 0) + :count WHERE u.id = :id")
+    int addRatings(@Param("id") Long id, @Param("sum") long sum, @Param("count") long count);
 }
\ No newline at end of file
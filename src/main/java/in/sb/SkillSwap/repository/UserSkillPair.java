@@ -0,0 +1,22 @@
+package in.sb.SkillSwap.repository;
+
+// Lightweight (userId, skillId) row read from user_teach_skills / user_learn_skills
+public class UserSkillPair {
+    private final Long userId;
+    private final Long skillId;
+
+    // Constructor (used by JPQL constructor expressions)
+    public UserSkillPair(Long userId, Long skillId) {
+        this.userId = userId;
+        this.skillId = skillId;
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getSkillId() {
+        return skillId;
+    }
+}
@@ -3,18 +3,39 @@ package in.sb.SkillSwap.repository;
 import in.sb.SkillSwap.model.Skill;
 import in.sb.SkillSwap.model.User;
 import in.sb.SkillSwap.model.UserTeachSkill;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserTeachSkillRepository extends JpaRepository<UserTeachSkill, Long> {
+    @EntityGraph("UserTeachSkill.skill")
     List<UserTeachSkill> findByUser(User user);
+
+    @EntityGraph("UserTeachSkill.user")
     List<UserTeachSkill> findBySkill(Skill skill);
+
     Optional<UserTeachSkill> findByUserAndSkill(User user, Skill skill);
     boolean existsByUserAndSkill(User user, Skill skill);
     void deleteByUserAndSkill(User user, Skill skill);
     List<UserTeachSkill> findBySkillIn(List<Skill> skills);
+
+    // A user's whole list with the skills in the same round trip
+    @Query("SELECT s FROM UserTeachSkill s JOIN FETCH s.skill WHERE s.user.id = :userId")
+    List<UserTeachSkill> findByUserIdWithSkill(@Param("userId") Long userId);
+
+    // Used to build the in-memory match index
+    @Query("SELECT new in.sb.SkillSwap.repository.UserSkillPair(s.user.id, s.skill.id) FROM UserTeachSkill s")
+    List<UserSkillPair> findAllUserSkillPairs();
+
+    // Batch fetch for the matching path - one round trip for a whole set of users
+    @Query("SELECT new in.sb.SkillSwap.repository.UserSkillPair(s.user.id, s.skill.id) FROM UserTeachSkill s " +
+           "WHERE s.user.id IN :userIds")
+    List<UserSkillPair> findUserSkillPairsByUserIds(@Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
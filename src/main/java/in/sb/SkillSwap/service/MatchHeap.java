@@ -0,0 +1,109 @@
+package in.sb.SkillSwap.service;
+
+// Fixed-size min-heap of primitive (userId, score) pairs used to keep only the best K matches.
+// Ordering is score descending, then user id ascending, so results stay deterministic.
+class MatchHeap {
+    private final long[] userIds;
+    private final int[] scores;
+    private int size;
+
+    MatchHeap(int capacity) {
+        this.userIds = new long[capacity];
+        this.scores = new int[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void offer(long userId, int score) {
+        if (userIds.length == 0) {
+            return;
+        }
+        if (size < userIds.length) {
+            userIds[size] = userId;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (isWorse(userIds[0], scores[0], userId, score)) {
+            // New entry beats the current worst - replace the root
+            userIds[0] = userId;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    // Empties the heap and returns the user ids best-first
+    long[] drainBestFirst() {
+        long[] ordered = new long[size];
+        for (int i = size - 1; i >= 0; i--) {
+            ordered[i] = userIds[0];
+            size--;
+            userIds[0] = userIds[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return ordered;
+    }
+
+    // Best `capacity` entries of two heaps, e.g. the results of two parallel scoring chunks.
+    // Neither input is modified.
+    static MatchHeap merge(MatchHeap a, MatchHeap b, int capacity) {
+        MatchHeap merged = new MatchHeap(Math.min(capacity, a.size + b.size));
+        for (int i = 0; i < a.size; i++) {
+            merged.offer(a.userIds[i], a.scores[i]);
+        }
+        for (int i = 0; i < b.size; i++) {
+            merged.offer(b.userIds[i], b.scores[i]);
+        }
+        return merged;
+    }
+
+    // Helper methods
+    private static boolean isWorse(long userIdA, int scoreA, long userIdB, int scoreB) {
+        if (scoreA != scoreB) {
+            return scoreA < scoreB;
+        }
+        return userIdA > userIdB;
+    }
+
+    private boolean isWorse(int i, int j) {
+        return isWorse(userIds[i], scores[i], userIds[j], scores[j]);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isWorse(index, parent)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                break;
+            }
+            int right = left + 1;
+            int worst = (right < size && isWorse(right, left)) ? right : left;
+            if (!isWorse(worst, index)) {
+                break;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private void swap(int i, int j) {
+        long userId = userIds[i];
+        userIds[i] = userIds[j];
+        userIds[j] = userId;
+
+        int score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+}
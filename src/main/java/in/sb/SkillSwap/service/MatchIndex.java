@@ -0,0 +1,196 @@
+package in.sb.SkillSwap.service;
+
+import in.sb.SkillSwap.event.SkillProfileChangedEvent;
+import in.sb.SkillSwap.repository.UserLearnSkillRepository;
+import in.sb.SkillSwap.repository.UserSkillPair;
+import in.sb.SkillSwap.repository.UserTeachSkillRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Resident skill -> users index used to pick match candidates without scanning the user table.
+// Every skill keeps one bitmap of the users who teach it and one of the users who want to learn it.
+@Component
+public class MatchIndex {
+
+    @Autowired
+    private UserTeachSkillRepository userTeachSkillRepository;
+
+    @Autowired
+    private UserLearnSkillRepository userLearnSkillRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, RoaringBitmap> teachersBySkill = new HashMap<>();
+    private Map<Long, RoaringBitmap> learnersBySkill = new HashMap<>();
+    private volatile boolean loaded = false;
+
+    // Only one rebuild runs at a time; callers that need the index wait for the running one
+    private final Lock rebuildLock = new ReentrantLock();
+
+    // Changes committed while a rebuild is reading the tables (guarded by lock). The rebuild may or may not
+    // have seen them, so they are replayed on top of the new bitmaps; add and remove are idempotent.
+    private List<SkillProfileChangedEvent> pendingEvents;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingEvents = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Map<Long, RoaringBitmap> teachers = buildBitmaps(userTeachSkillRepository.findAllUserSkillPairs());
+            Map<Long, RoaringBitmap> learners = buildBitmaps(userLearnSkillRepository.findAllUserSkillPairs());
+
+            lock.writeLock().lock();
+            try {
+                teachersBySkill = teachers;
+                learnersBySkill = learners;
+                loaded = true;
+                replayPendingEvents();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            if (pendingEvents != null) {
+                // The rebuild failed: the queued changes still go to the bitmaps that stay in use
+                lock.writeLock().lock();
+                try {
+                    replayPendingEvents();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    // Keep the bitmaps in step with SkillService once the change is committed.
+    // Runs before the other listeners so they already see the updated index.
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillProfileChanged(SkillProfileChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            } else if (loaded) {
+                apply(event);
+            }
+            // otherwise no rebuild has started yet and the first one reads the committed change
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Users who want to learn something the caller teaches, or teach something the caller wants to learn.
+    // Cost is proportional to the caller's skills and the size of the candidate set, not the user table.
+    public long[] findCandidates(Long userId, long[] teachSkillIds, long[] learnSkillIds) {
+        if (!loaded) {
+            ensureLoaded();
+        }
+
+        RoaringBitmap candidates = new RoaringBitmap();
+        lock.readLock().lock();
+        try {
+            for (long skillId : teachSkillIds) {
+                RoaringBitmap learners = learnersBySkill.get(skillId);
+                if (learners != null) {
+                    candidates.or(learners);
+                }
+            }
+            for (long skillId : learnSkillIds) {
+                RoaringBitmap teachers = teachersBySkill.get(skillId);
+                if (teachers != null) {
+                    candidates.or(teachers);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        candidates.remove(toIndexId(userId));
+
+        int[] ids = candidates.toArray();
+        long[] userIds = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            userIds[i] = ids[i];
+        }
+        return userIds;
+    }
+
+    // Helper methods
+    private void ensureLoaded() {
+        rebuildLock.lock();
+        try {
+            if (!loaded) {
+                rebuild();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void replayPendingEvents() {
+        if (loaded) {
+            pendingEvents.forEach(this::apply);
+        }
+        pendingEvents = null;
+    }
+
+    // Caller holds the write lock
+    private void apply(SkillProfileChangedEvent event) {
+        int userId = toIndexId(event.getUserId());
+        event.getAddedTeachSkillIds().forEach(skillId -> bitmapFor(teachersBySkill, skillId).add(userId));
+        event.getRemovedTeachSkillIds().forEach(skillId -> removeUser(teachersBySkill, skillId, userId));
+        event.getAddedLearnSkillIds().forEach(skillId -> bitmapFor(learnersBySkill, skillId).add(userId));
+        event.getRemovedLearnSkillIds().forEach(skillId -> removeUser(learnersBySkill, skillId, userId));
+    }
+
+    private Map<Long, RoaringBitmap> buildBitmaps(List<UserSkillPair> pairs) {
+        Map<Long, RoaringBitmap> bitmaps = new HashMap<>();
+        for (UserSkillPair pair : pairs) {
+            bitmapFor(bitmaps, pair.getSkillId()).add(toIndexId(pair.getUserId()));
+        }
+        for (RoaringBitmap bitmap : bitmaps.values()) {
+            bitmap.runOptimize();
+        }
+        return bitmaps;
+    }
+
+    private RoaringBitmap bitmapFor(Map<Long, RoaringBitmap> bitmaps, Long skillId) {
+        return bitmaps.computeIfAbsent(skillId, id -> new RoaringBitmap());
+    }
+
+    private void removeUser(Map<Long, RoaringBitmap> bitmaps, Long skillId, int userId) {
+        RoaringBitmap bitmap = bitmaps.get(skillId);
+        if (bitmap != null) {
+            bitmap.remove(userId);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(skillId);
+            }
+        }
+    }
+
+    // Roaring bitmaps hold 32-bit values; user ids come from an IDENTITY column and stay well below that
+    private int toIndexId(Long userId) {
+        return Math.toIntExact(userId);
+    }
+}
@@ -0,0 +1,329 @@
+package in.sb.SkillSwap.service;
+
+import in.sb.SkillSwap.dto.MatchDTO;
+import in.sb.SkillSwap.event.SkillProfileChangedEvent;
+import in.sb.SkillSwap.model.UserMatchSnapshot;
+import in.sb.SkillSwap.repository.UserMatchSnapshotRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps a materialized copy of every user's categorized matches in user_matches.
+// Skill edits mark the affected users stale and queue them for a background refresh;
+// reads of a fresh snapshot are a single primary-key lookup plus hydration of the returned page.
+// Metrics: skillswap.matches.refresh.queued, skillswap.matches.refresh.oldest.pending, skillswap.matches.snapshots.stale
+// (gauges), skillswap.matches.snapshot.lookups (counter, tag result=hit/miss), skillswap.matches.refreshes (timer)
+// and skillswap.matches.refresh.failures (counter).
+@Service
+public class MatchMaterializer implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchMaterializer.class);
+
+    // Users are marked stale in chunks to keep the IN (...) list bounded
+    private static final int STALE_BATCH_SIZE = 1000;
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+    private static final TypeReference<List<SnapshotEntry>> ENTRIES = new TypeReference<>() {};
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchIndex matchIndex;
+
+    @Autowired
+    private UserMatchSnapshotRepository snapshotRepository;
+
+    @Value("${skillswap.matching.materialization.enabled:true}")
+    private boolean enabled;
+
+    // How many entries per category are materialized; deeper pages fall back to live matching
+    @Value("${skillswap.matching.materialization.bucket-size:200}")
+    private int bucketSize;
+
+    private final BlockingQueue<Long> refreshQueue = new LinkedBlockingQueue<>();
+    private final Map<Long, Long> pendingSince = new ConcurrentHashMap<>();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "match-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Staleness metrics
+    private final AtomicLong snapshotHits = new AtomicLong();
+    private final AtomicLong snapshotMisses = new AtomicLong();
+    private final AtomicLong refreshesCompleted = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final AtomicLong totalRefreshNanos = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        worker.submit(this::processQueue);
+
+        // Pick up snapshots that were left stale by a previous run
+        for (Long userId : snapshotRepository.findStaleUserIds()) {
+            enqueue(userId);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdownNow();
+    }
+
+    // Categorized matches served from the snapshot when it is fresh, computed live otherwise
+    public Map<String, List<MatchDTO>> findCategorizedMatches(Long userId, Integer offset, Integer limit) {
+        if (!enabled) {
+            return matchService.findCategorizedMatchesForUser(userId, offset, limit);
+        }
+
+        Optional<UserMatchSnapshot> snapshot = snapshotRepository.findById(userId);
+        boolean unreadable = false;
+        if (snapshot.isPresent() && isFresh(snapshot.get())) {
+            Map<String, List<MatchScore>> buckets = decodeBuckets(snapshot.get());
+            unreadable = buckets == null;
+
+            if (!unreadable && covers(buckets, offset, limit)) {
+                snapshotHits.incrementAndGet();
+                Map<String, List<MatchScore>> rankedMatches = new LinkedHashMap<>();
+                for (Map.Entry<String, List<MatchScore>> bucket : buckets.entrySet()) {
+                    rankedMatches.put(bucket.getKey(), page(bucket.getValue(), offset, limit));
+                }
+                return matchService.toCategorizedMatchDTOs(rankedMatches);
+            }
+        }
+
+        snapshotMisses.incrementAndGet();
+        Map<String, List<MatchDTO>> matches = matchService.findCategorizedMatchesForUser(userId, offset, limit);
+        if (snapshot.isEmpty() || snapshot.get().getStale() || unreadable) {
+            enqueue(userId);
+        }
+        return matches;
+    }
+
+    // Only users who share the changed skills with the editing user can see different results
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillProfileChanged(SkillProfileChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        List<Long> changedTeachSkills = new ArrayList<>(event.getAddedTeachSkillIds());
+        changedTeachSkills.addAll(event.getRemovedTeachSkillIds());
+        List<Long> changedLearnSkills = new ArrayList<>(event.getAddedLearnSkillIds());
+        changedLearnSkills.addAll(event.getRemovedLearnSkillIds());
+
+        long[] affected = matchIndex.findCandidates(
+                event.getUserId(), toArray(changedTeachSkills), toArray(changedLearnSkills));
+
+        List<Long> userIds = new ArrayList<>(affected.length + 1);
+        userIds.add(event.getUserId());
+        for (long userId : affected) {
+            userIds.add(userId);
+        }
+
+        for (int from = 0; from < userIds.size(); from += STALE_BATCH_SIZE) {
+            snapshotRepository.markStale(userIds.subList(from, Math.min(from + STALE_BATCH_SIZE, userIds.size())));
+        }
+        for (Long userId : userIds) {
+            enqueue(userId);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("skillswap.matches.refresh.queued", pendingSince, Map::size)
+                .description("Users waiting for a snapshot refresh")
+                .register(registry);
+        TimeGauge.builder("skillswap.matches.refresh.oldest.pending", this, TimeUnit.MILLISECONDS,
+                        MatchMaterializer::oldestPendingMillis)
+                .description("How long the longest-waiting user has been queued")
+                .register(registry);
+        Gauge.builder("skillswap.matches.snapshots.stale", snapshotRepository,
+                        UserMatchSnapshotRepository::countByStaleTrue)
+                .description("Snapshots marked stale and not yet refreshed")
+                .register(registry);
+        FunctionCounter.builder("skillswap.matches.snapshot.lookups", snapshotHits, AtomicLong::get)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("skillswap.matches.snapshot.lookups", snapshotMisses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionTimer.builder("skillswap.matches.refreshes", this,
+                        materializer -> materializer.refreshesCompleted.get(),
+                        materializer -> materializer.totalRefreshNanos.get(), TimeUnit.NANOSECONDS)
+                .description("Background snapshot refreshes")
+                .register(registry);
+        FunctionCounter.builder("skillswap.matches.refresh.failures", refreshFailures, AtomicLong::get)
+                .register(registry);
+    }
+
+    // Refresh queue
+    private void enqueue(Long userId) {
+        if (pendingSince.putIfAbsent(userId, System.currentTimeMillis()) == null) {
+            refreshQueue.offer(userId);
+        }
+    }
+
+    private void processQueue() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Long userId;
+            try {
+                userId = refreshQueue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            // Removed before computing so an edit made during the refresh queues the user again
+            pendingSince.remove(userId);
+            try {
+                refresh(userId);
+            } catch (Exception e) {
+                refreshFailures.incrementAndGet();
+                log.warn("Failed to refresh materialized matches for user {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    private void refresh(Long userId) {
+        long started = System.nanoTime();
+        Map<String, List<MatchScore>> rankedMatches = matchService.rankCategorizedMatches(userId, 0, bucketSize);
+
+        UserMatchSnapshot snapshot = new UserMatchSnapshot(userId);
+        snapshot.setPerfectMatches(encode(rankedMatches.get("perfect")));
+        snapshot.setGoodMatches(encode(rankedMatches.get("good")));
+        snapshot.setPotentialMatches(encode(rankedMatches.get("potential")));
+        snapshot.setStale(pendingSince.containsKey(userId));
+        snapshot.setRefreshedAt(LocalDateTime.now());
+        snapshotRepository.save(snapshot);
+
+        refreshesCompleted.incrementAndGet();
+        totalRefreshNanos.addAndGet(System.nanoTime() - started);
+    }
+
+    // Helper methods
+    private boolean isFresh(UserMatchSnapshot snapshot) {
+        return !snapshot.getStale() && !pendingSince.containsKey(snapshot.getUserId());
+    }
+
+    // A bucket shorter than bucketSize is complete; a full one only covers its first bucketSize entries
+    private boolean covers(Map<String, List<MatchScore>> buckets, Integer offset, Integer limit) {
+        if ((offset != null && offset < 0) || (limit != null && limit < 1)) {
+            return false; // let the live path report the invalid parameters
+        }
+        if (limit != null && (long) (offset == null ? 0 : offset) + limit <= bucketSize) {
+            return true;
+        }
+        for (List<MatchScore> bucket : buckets.values()) {
+            if (bucket.size() >= bucketSize) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<MatchScore> page(List<MatchScore> bucket, Integer offset, Integer limit) {
+        int from = Math.min(offset == null ? 0 : offset, bucket.size());
+        int to = limit == null ? bucket.size() : (int) Math.min((long) from + limit, bucket.size());
+        return bucket.subList(from, to);
+    }
+
+    private double oldestPendingMillis() {
+        long now = System.currentTimeMillis();
+        long oldest = 0;
+        for (Long since : pendingSince.values()) {
+            oldest = Math.max(oldest, now - since);
+        }
+        return oldest;
+    }
+
+    // null when a bucket cannot be read (e.g. written in an older format); the caller falls back to live matching
+    private Map<String, List<MatchScore>> decodeBuckets(UserMatchSnapshot snapshot) {
+        try {
+            Map<String, List<MatchScore>> buckets = new LinkedHashMap<>();
+            buckets.put("perfect", decode(snapshot.getPerfectMatches()));
+            buckets.put("good", decode(snapshot.getGoodMatches()));
+            buckets.put("potential", decode(snapshot.getPotentialMatches()));
+            return buckets;
+        } catch (JacksonException e) {
+            return null;
+        }
+    }
+
+    // Buckets are stored as JSON arrays of SnapshotEntry
+    private String encode(List<MatchScore> bucket) {
+        List<SnapshotEntry> entries = new ArrayList<>(bucket.size());
+        for (MatchScore matchScore : bucket) {
+            entries.add(new SnapshotEntry(matchScore.userId, matchScore.score,
+                    matchScore.youTeachThemCount, matchScore.theyTeachYouCount,
+                    matchScore.skillYouCanTeachThemId, matchScore.skillTheyCanTeachYouId));
+        }
+        return JSON.writeValueAsString(entries);
+    }
+
+    private List<MatchScore> decode(String bucket) {
+        List<MatchScore> scores = new ArrayList<>();
+        if (bucket == null || bucket.isEmpty()) {
+            return scores;
+        }
+        for (SnapshotEntry entry : JSON.readValue(bucket, ENTRIES)) {
+            MatchScore matchScore = new MatchScore(entry.userId(), entry.youTeachThem(), entry.theyTeachYou(), entry.score());
+            matchScore.skillYouCanTeachThemId = entry.skillYouCanTeachThem();
+            matchScore.skillTheyCanTeachYouId = entry.skillTheyCanTeachYou();
+            scores.add(matchScore);
+        }
+        return scores;
+    }
+
+    private long[] toArray(List<Long> ids) {
+        Set<Long> unique = new HashSet<>(ids);
+        long[] array = new long[unique.size()];
+        int i = 0;
+        for (Long id : unique) {
+            array[i++] = id;
+        }
+        return array;
+    }
+
+    // One ranked entry of a stored bucket
+    private record SnapshotEntry(long userId, int score, int youTeachThem, int theyTeachYou,
+                                 long skillYouCanTeachThem, long skillTheyCanTeachYou) {
+    }
+}
@@ -0,0 +1,21 @@
+package in.sb.SkillSwap.service;
+
+// Match score between the current user and one other user, with clear field names
+class MatchScore {
+    // Marker for "no common skill" in the primitive skill-id fields
+    static final long NO_SKILL = -1L;
+
+    long userId;
+    int youTeachThemCount;    // How many skills you can teach them
+    int theyTeachYouCount;    // How many skills they can teach you
+    int score;
+    long skillYouCanTeachThemId = NO_SKILL;
+    long skillTheyCanTeachYouId = NO_SKILL;
+
+    MatchScore(long userId, int youTeachThemCount, int theyTeachYouCount, int score) {
+        this.userId = userId;
+        this.youTeachThemCount = youTeachThemCount;
+        this.theyTeachYouCount = theyTeachYouCount;
+        this.score = score;
+    }
+}
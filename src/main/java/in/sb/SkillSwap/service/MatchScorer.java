@@ -0,0 +1,146 @@
+package in.sb.SkillSwap.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Scores match candidates into bounded top-K heaps.
+// Small candidate sets are scored on the calling thread; large ones are split into chunks
+// and scored on a dedicated ForkJoinPool, with the per-chunk heaps merged on the way up.
+@Component
+public class MatchScorer {
+
+    // Heap slots - categorized scoring uses all three, flat scoring only ALL
+    static final int ALL = 0;
+    static final int PERFECT = 0;
+    static final int GOOD = 1;
+    static final int POTENTIAL = 2;
+
+    // Number of scoring threads (0 = one per available processor)
+    @Value("${skillswap.matching.parallelism:0}")
+    private int parallelism;
+
+    // Candidate sets smaller than this are always scored sequentially
+    @Value("${skillswap.matching.parallel-threshold:5000}")
+    private int parallelThreshold;
+
+    private ForkJoinPool scoringPool;
+
+    @PostConstruct
+    public void init() {
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        if (parallelism > 1) {
+            scoringPool = new ForkJoinPool(parallelism);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scoringPool != null) {
+            scoringPool.shutdownNow();
+        }
+    }
+
+    // Scores every candidate against the current user's teach/learn skills and keeps the best `capacity`
+    // per heap slot. With categorized = false every match goes to the ALL slot.
+    MatchHeap[] score(long[] teachSkills, long[] learnSkills, long[] candidateIds, SkillGraph candidateGraph,
+                      int capacity, boolean categorized) {
+        ScoringTask task = new ScoringTask(teachSkills, learnSkills, candidateIds, candidateGraph,
+                0, candidateIds.length, capacity, categorized, chunkSize(candidateIds.length));
+
+        if (scoringPool == null || candidateIds.length < parallelThreshold) {
+            return task.scoreSequentially();
+        }
+        return scoringPool.invoke(task);
+    }
+
+    // Several chunks per thread so uneven skill counts still balance out
+    private int chunkSize(int candidateCount) {
+        return Math.max(1024, candidateCount / (parallelism * 4));
+    }
+
+    private static class ScoringTask extends RecursiveTask<MatchHeap[]> {
+        private final long[] teachSkills;
+        private final long[] learnSkills;
+        private final long[] candidateIds;
+        private final SkillGraph candidateGraph;
+        private final int from;
+        private final int to;
+        private final int capacity;
+        private final boolean categorized;
+        private final int chunkSize;
+
+        ScoringTask(long[] teachSkills, long[] learnSkills, long[] candidateIds, SkillGraph candidateGraph,
+                    int from, int to, int capacity, boolean categorized, int chunkSize) {
+            this.teachSkills = teachSkills;
+            this.learnSkills = learnSkills;
+            this.candidateIds = candidateIds;
+            this.candidateGraph = candidateGraph;
+            this.from = from;
+            this.to = to;
+            this.capacity = capacity;
+            this.categorized = categorized;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected MatchHeap[] compute() {
+            if (to - from <= chunkSize) {
+                return scoreSequentially();
+            }
+
+            int middle = (from + to) >>> 1;
+            ScoringTask left = new ScoringTask(teachSkills, learnSkills, candidateIds, candidateGraph,
+                    from, middle, capacity, categorized, chunkSize);
+            ScoringTask right = new ScoringTask(teachSkills, learnSkills, candidateIds, candidateGraph,
+                    middle, to, capacity, categorized, chunkSize);
+            left.fork();
+            MatchHeap[] rightHeaps = right.compute();
+            MatchHeap[] leftHeaps = left.join();
+
+            MatchHeap[] merged = new MatchHeap[leftHeaps.length];
+            for (int slot = 0; slot < merged.length; slot++) {
+                merged[slot] = MatchHeap.merge(leftHeaps[slot], rightHeaps[slot], capacity);
+            }
+            return merged;
+        }
+
+        MatchHeap[] scoreSequentially() {
+            int heapSize = Math.min(capacity, to - from);
+            MatchHeap[] heaps = categorized
+                    ? new MatchHeap[] { new MatchHeap(heapSize), new MatchHeap(heapSize), new MatchHeap(heapSize) }
+                    : new MatchHeap[] { new MatchHeap(heapSize) };
+
+            for (int i = from; i < to; i++) {
+                long candidateId = candidateIds[i];
+                int youTeachThemCount = SkillSetIntersection.count(teachSkills, candidateGraph.getLearnSkills(candidateId));
+                int theyTeachYouCount = SkillSetIntersection.count(candidateGraph.getTeachSkills(candidateId), learnSkills);
+                int score = youTeachThemCount + theyTeachYouCount;
+
+                if (score == 0) {
+                    continue;
+                }
+
+                if (!categorized) {
+                    heaps[ALL].offer(candidateId, score);
+                } else if (youTeachThemCount > 0 && theyTeachYouCount > 0) {
+                    // Perfect match: Both can teach each other (bidirectional swap)
+                    heaps[PERFECT].offer(candidateId, score);
+                } else if (score >= 2) {
+                    // Good match: Multiple skills in one direction
+                    heaps[GOOD].offer(candidateId, score);
+                } else {
+                    // Potential match: Single skill match
+                    heaps[POTENTIAL].offer(candidateId, score);
+                }
+            }
+            return heaps;
+        }
+    }
+}
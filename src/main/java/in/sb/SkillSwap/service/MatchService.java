@@ -8,6 +8,7 @@ import in.sb.SkillSwap.model.Skill;
 import in.sb.SkillSwap.model.User;
 import in.sb.SkillSwap.model.UserLearnSkill;
 import in.sb.SkillSwap.model.UserTeachSkill;
+import in.sb.SkillSwap.repository.SkillRepository;
 import in.sb.SkillSwap.repository.UserLearnSkillRepository;
 import in.sb.SkillSwap.repository.UserRepository;
 import in.sb.SkillSwap.repository.UserTeachSkillRepository;
@@ -31,208 +32,238 @@ public class MatchService {
     @Autowired
     private SkillService skillService;
 
-    // Main matching algorithm - Returns categorized matches
-    public Map<String, List<MatchDTO>> findCategorizedMatchesForUser(Long userId) {
-        try {
-            User currentUser = userRepository.findById(userId)
-                    .orElseThrow(() -> new AuthException("User not found"));
-
-            List<Skill> currentUserTeachSkills = getTeachSkillsForUser(userId);
-            List<Skill> currentUserLearnSkills = getLearnSkillsForUser(userId);
-
-            List<User> allUsers = userRepository.findAll();
-            
-            // Create categories
-            List<MatchDTO> perfectMatches = new ArrayList<>();
-            List<MatchDTO> goodMatches = new ArrayList<>();
-            List<MatchDTO> potentialMatches = new ArrayList<>();
-
-            for (User otherUser : allUsers) {
-                if (otherUser.getId().equals(userId)) continue;
-
-                List<Skill> otherUserTeachSkills = getTeachSkillsForUser(otherUser.getId());
-                List<Skill> otherUserLearnSkills = getLearnSkillsForUser(otherUser.getId());
-
-                MatchScore matchScore = calculateMatchScore(
-                        currentUserTeachSkills, currentUserLearnSkills,
-                        otherUserTeachSkills, otherUserLearnSkills
-                );
-
-                if (matchScore.score > 0) {
-                    MatchDTO matchDTO = new MatchDTO();
-                    matchDTO.setUser(convertToUserDTO(otherUser));
-                    matchDTO.setMatchScore(matchScore.score);
-
-                    // CORRECT LOGIC WITH CLEAR FIELD NAMES:
-                    // Skill YOU can teach THEM (You → Them)
-                    Skill skillYouCanTeachThem = 
-                        findCommonSkill(currentUserTeachSkills, otherUserLearnSkills);
-
-                    // Skill THEY can teach YOU (They → You)  
-                    Skill skillTheyCanTeachYou = 
-                        findCommonSkill(otherUserTeachSkills, currentUserLearnSkills);
-
-                    matchDTO.setSkillYouCanTeachThem(convertToSkillDTO(skillYouCanTeachThem));
-                    matchDTO.setSkillTheyCanTeachYou(convertToSkillDTO(skillTheyCanTeachYou));
-
-                    String description = generateMatchDescription(
-                            skillYouCanTeachThem, skillTheyCanTeachYou,
-                            matchScore.youTeachThemCount, matchScore.theyTeachYouCount
-                    );
-                    matchDTO.setMatchDescription(description);
-
-                    // Categorize based on match type
-                    if (matchScore.youTeachThemCount > 0 && matchScore.theyTeachYouCount > 0) {
-                        // Perfect match: Both can teach each other (bidirectional swap)
-                        perfectMatches.add(matchDTO);
-                    } else if (matchScore.score >= 2) {
-                        // Good match: Multiple skills in one direction
-                        goodMatches.add(matchDTO);
-                    } else {
-                        // Potential match: Single skill match
-                        potentialMatches.add(matchDTO);
-                    }
-                }
-            }
+    @Autowired
+    private SkillRepository skillRepository;
 
-            // Sort each category by match score (highest first)
-            perfectMatches.sort((m1, m2) -> m2.getMatchScore().compareTo(m1.getMatchScore()));
-            goodMatches.sort((m1, m2) -> m2.getMatchScore().compareTo(m1.getMatchScore()));
-            potentialMatches.sort((m1, m2) -> m2.getMatchScore().compareTo(m1.getMatchScore()));
+    @Autowired
+    private MatchIndex matchIndex;
 
-            // Return categorized matches
-            Map<String, List<MatchDTO>> categorizedMatches = new LinkedHashMap<>();
-            categorizedMatches.put("perfect", perfectMatches);
-            categorizedMatches.put("good", goodMatches);
-            categorizedMatches.put("potential", potentialMatches);
+    @Autowired
+    private SkillGraphLoader skillGraphLoader;
 
-            return categorizedMatches;
+    @Autowired
+    private MatchScorer matchScorer;
 
+    // Main matching algorithm - Returns categorized matches
+    public Map<String, List<MatchDTO>> findCategorizedMatchesForUser(Long userId) {
+        return findCategorizedMatchesForUser(userId, null, null);
+    }
+
+    // Categorized matches, paged per category with offset/limit
+    public Map<String, List<MatchDTO>> findCategorizedMatchesForUser(Long userId, Integer offset, Integer limit) {
+        try {
+            return toCategorizedMatchDTOs(rankCategorizedMatches(userId, offset, limit));
         } catch (Exception e) {
             throw new AuthException("Error finding matches: " + e.getMessage(), e);
         }
     }
 
-    // Original method for backward compatibility
-    public List<MatchDTO> findMatchesForUser(Long userId) {
-        try {
-            User currentUser = userRepository.findById(userId)
-                    .orElseThrow(() -> new AuthException("User not found"));
+    // Ranked matches per category (perfect, good, potential), highest score first
+    Map<String, List<MatchScore>> rankCategorizedMatches(Long userId, Integer offset, Integer limit) {
+        MatchCandidates candidates = loadCandidates(userId);
+        int capacity = heapCapacity(offset, limit, candidates.candidateIds.length);
 
-            List<Skill> currentUserTeachSkills = getTeachSkillsForUser(userId);
-            List<Skill> currentUserLearnSkills = getLearnSkillsForUser(userId);
+        // One bounded heap per category - only the top (offset + limit) entries are ever kept
+        MatchHeap[] heaps = matchScorer.score(candidates.teachSkills, candidates.learnSkills,
+                candidates.candidateIds, candidates.candidateGraph, capacity, true);
 
-            List<User> allUsers = userRepository.findAll();
-            List<MatchDTO> matches = new ArrayList<>();
+        Map<String, List<MatchScore>> rankedMatches = new LinkedHashMap<>();
+        rankedMatches.put("perfect", toPage(heaps[MatchScorer.PERFECT], offset, candidates));
+        rankedMatches.put("good", toPage(heaps[MatchScorer.GOOD], offset, candidates));
+        rankedMatches.put("potential", toPage(heaps[MatchScorer.POTENTIAL], offset, candidates));
+        return rankedMatches;
+    }
 
-            for (User otherUser : allUsers) {
-                if (otherUser.getId().equals(userId)) continue;
+    // Build DTOs only for the users actually returned - one user and one skill query for all categories
+    Map<String, List<MatchDTO>> toCategorizedMatchDTOs(Map<String, List<MatchScore>> rankedMatches) {
+        List<MatchScore> returned = new ArrayList<>();
+        for (List<MatchScore> category : rankedMatches.values()) {
+            returned.addAll(category);
+        }
+        Map<Long, User> users = loadUsers(returned);
+        Map<Long, Skill> skills = loadCommonSkills(returned);
 
-                List<Skill> otherUserTeachSkills = getTeachSkillsForUser(otherUser.getId());
-                List<Skill> otherUserLearnSkills = getLearnSkillsForUser(otherUser.getId());
+        Map<String, List<MatchDTO>> categorizedMatches = new LinkedHashMap<>();
+        for (Map.Entry<String, List<MatchScore>> category : rankedMatches.entrySet()) {
+            categorizedMatches.put(category.getKey(), buildMatchDTOs(category.getValue(), users, skills));
+        }
+        return categorizedMatches;
+    }
 
-                MatchScore matchScore = calculateMatchScore(
-                        currentUserTeachSkills, currentUserLearnSkills,
-                        otherUserTeachSkills, otherUserLearnSkills
-                );
+    // Original method for backward compatibility
+    public List<MatchDTO> findMatchesForUser(Long userId) {
+        return findMatchesForUser(userId, null, null);
+    }
 
-                if (matchScore.score > 0) {
-                    MatchDTO matchDTO = new MatchDTO();
-                    matchDTO.setUser(convertToUserDTO(otherUser));
-                    matchDTO.setMatchScore(matchScore.score);
+    // All matches sorted by score, paged with offset/limit
+    public List<MatchDTO> findMatchesForUser(Long userId, Integer offset, Integer limit) {
+        try {
+            MatchCandidates candidates = loadCandidates(userId);
+            MatchHeap[] heaps = matchScorer.score(candidates.teachSkills, candidates.learnSkills,
+                    candidates.candidateIds, candidates.candidateGraph,
+                    heapCapacity(offset, limit, candidates.candidateIds.length), false);
 
-                    // CORRECT LOGIC WITH CLEAR FIELD NAMES:
-                    // Skill YOU can teach THEM (You → Them)
-                    Skill skillYouCanTeachThem = 
-                        findCommonSkill(currentUserTeachSkills, otherUserLearnSkills);
+            List<MatchScore> page = toPage(heaps[MatchScorer.ALL], offset, candidates);
+            return buildMatchDTOs(page, loadUsers(page), loadCommonSkills(page));
+
+        } catch (Exception e) {
+            throw new AuthException("Error finding matches: " + e.getMessage(), e);
+        }
+    }
 
-                    // Skill THEY can teach YOU (They → You)  
-                    Skill skillTheyCanTeachYou = 
-                        findCommonSkill(otherUserTeachSkills, currentUserLearnSkills);
+    // Current user's skills plus the candidates from the match index.
+    // Skill sets are bulk-loaded, so the query count does not depend on the number of candidates.
+    private MatchCandidates loadCandidates(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new AuthException("User not found");
+        }
 
-                    matchDTO.setSkillYouCanTeachThem(convertToSkillDTO(skillYouCanTeachThem));
-                    matchDTO.setSkillTheyCanTeachYou(convertToSkillDTO(skillTheyCanTeachYou));
+        SkillGraph currentUserGraph = skillGraphLoader.load(List.of(userId));
+        long[] teachSkills = currentUserGraph.getTeachSkills(userId);
+        long[] learnSkills = currentUserGraph.getLearnSkills(userId);
 
-                    String description = generateMatchDescription(
-                            skillYouCanTeachThem, skillTheyCanTeachYou,
-                            matchScore.youTeachThemCount, matchScore.theyTeachYouCount
-                    );
-                    matchDTO.setMatchDescription(description);
+        long[] candidateIds = matchIndex.findCandidates(userId, teachSkills, learnSkills);
+        SkillGraph candidateGraph = skillGraphLoader.load(toIdList(candidateIds));
 
-                    matches.add(matchDTO);
-                }
-            }
+        return new MatchCandidates(teachSkills, learnSkills, candidateIds, candidateGraph);
+    }
 
-            // Sort by match score (highest first)
-            matches.sort((m1, m2) -> m2.getMatchScore().compareTo(m1.getMatchScore()));
-            return matches;
+    private static class MatchCandidates {
+        final long[] teachSkills;
+        final long[] learnSkills;
+        final long[] candidateIds;
+        final SkillGraph candidateGraph;
+
+        MatchCandidates(long[] teachSkills, long[] learnSkills, long[] candidateIds, SkillGraph candidateGraph) {
+            this.teachSkills = teachSkills;
+            this.learnSkills = learnSkills;
+            this.candidateIds = candidateIds;
+            this.candidateGraph = candidateGraph;
+        }
+    }
 
-        } catch (Exception e) {
-            throw new AuthException("Error finding matches: " + e.getMessage(), e);
+    // Heap size is offset + limit, never more than the number of candidates
+    private int heapCapacity(Integer offset, Integer limit, int candidateCount) {
+        if ((offset != null && offset < 0) || (limit != null && limit < 1)) {
+            throw new AuthException("Invalid offset or limit");
+        }
+        if (limit == null) {
+            return candidateCount;
         }
+        long capacity = (long) (offset == null ? 0 : offset) + limit;
+        return (int) Math.min(capacity, candidateCount);
+    }
+
+    // Drain the heap best-first, skip the offset and score the remaining users in full
+    private List<MatchScore> toPage(MatchHeap heap, Integer offset, MatchCandidates candidates) {
+        long[] ranked = heap.drainBestFirst();
+        int from = Math.min(offset == null ? 0 : offset, ranked.length);
+
+        List<MatchScore> page = new ArrayList<>(ranked.length - from);
+        for (int i = from; i < ranked.length; i++) {
+            long candidateId = ranked[i];
+            page.add(calculateMatchScore(
+                    candidateId,
+                    candidates.teachSkills, candidates.learnSkills,
+                    candidates.candidateGraph.getTeachSkills(candidateId),
+                    candidates.candidateGraph.getLearnSkills(candidateId)
+            ));
+        }
+        return page;
     }
 
     // Calculate match score between two users
     private MatchScore calculateMatchScore(
-            List<Skill> userATeach, List<Skill> userALearn,
-            List<Skill> userBTeach, List<Skill> userBLearn) {
+            long otherUserId,
+            long[] userATeach, long[] userALearn,
+            long[] userBTeach, long[] userBLearn) {
 
-        int youTeachThemCount = 0;   // User A can teach what User B wants to learn
-        int theyTeachYouCount = 0;   // User B can teach what User A wants to learn
+        SkillSetIntersection intersection = new SkillSetIntersection();
 
         // User A can teach what User B wants to learn (A.teach ∩ B.learn)
-        for (Skill skillA : userATeach) {
-            for (Skill skillB : userBLearn) {
-                if (skillA.getId().equals(skillB.getId())) {
-                    youTeachThemCount++;
-                    break;
-                }
-            }
-        }
+        int youTeachThemCount = intersection.intersect(userATeach, userBLearn);
+        long skillYouCanTeachThemId = intersection.getFirstCommonSkillId();
 
         // User B can teach what User A wants to learn (B.teach ∩ A.learn)
-        for (Skill skillB : userBTeach) {
-            for (Skill skillA : userALearn) {
-                if (skillB.getId().equals(skillA.getId())) {
-                    theyTeachYouCount++;
-                    break;
-                }
-            }
-        }
+        int theyTeachYouCount = intersection.intersect(userBTeach, userALearn);
+        long skillTheyCanTeachYouId = intersection.getFirstCommonSkillId();
 
         // Calculate total score - both types of matches are equally valuable
         int totalScore = youTeachThemCount + theyTeachYouCount;
-        
-        return new MatchScore(youTeachThemCount, theyTeachYouCount, totalScore);
+
+        MatchScore matchScore = new MatchScore(otherUserId, youTeachThemCount, theyTeachYouCount, totalScore);
+        // Skill YOU can teach THEM (You → Them)
+        matchScore.skillYouCanTeachThemId = skillYouCanTeachThemId;
+        // Skill THEY can teach YOU (They → You)
+        matchScore.skillTheyCanTeachYouId = skillTheyCanTeachYouId;
+        return matchScore;
     }
 
-    // Helper class for match score with clear field names
-    private static class MatchScore {
-        int youTeachThemCount;    // How many skills you can teach them
-        int theyTeachYouCount;    // How many skills they can teach you
-        int score;
-        
-        MatchScore(int youTeachThemCount, int theyTeachYouCount, int score) {
-            this.youTeachThemCount = youTeachThemCount;
-            this.theyTeachYouCount = theyTeachYouCount;
-            this.score = score;
+    private List<MatchDTO> buildMatchDTOs(List<MatchScore> scores, Map<Long, User> users, Map<Long, Skill> skills) {
+        List<MatchDTO> matches = new ArrayList<>(scores.size());
+        for (MatchScore matchScore : scores) {
+            matches.add(buildMatchDTO(matchScore, users, skills));
         }
+        return matches;
     }
 
-    // Find common skill between two lists
-    private Skill findCommonSkill(List<Skill> list1, List<Skill> list2) {
-        if (list1 == null || list2 == null || list1.isEmpty() || list2.isEmpty()) {
-            return null;
+    private MatchDTO buildMatchDTO(MatchScore matchScore, Map<Long, User> users, Map<Long, Skill> skills) {
+        Skill skillYouCanTeachThem = skills.get(matchScore.skillYouCanTeachThemId);
+        Skill skillTheyCanTeachYou = skills.get(matchScore.skillTheyCanTeachYouId);
+
+        MatchDTO matchDTO = new MatchDTO();
+        matchDTO.setUser(convertToUserDTO(users.get(matchScore.userId)));
+        matchDTO.setMatchScore(matchScore.score);
+        matchDTO.setSkillYouCanTeachThem(convertToSkillDTO(skillYouCanTeachThem));
+        matchDTO.setSkillTheyCanTeachYou(convertToSkillDTO(skillTheyCanTeachYou));
+
+        String description = generateMatchDescription(
+                skillYouCanTeachThem, skillTheyCanTeachYou,
+                matchScore.youTeachThemCount, matchScore.theyTeachYouCount
+        );
+        matchDTO.setMatchDescription(description);
+        return matchDTO;
+    }
+
+    // One query for every matched user
+    private Map<Long, User> loadUsers(List<MatchScore> scores) {
+        List<Long> userIds = new ArrayList<>(scores.size());
+        for (MatchScore matchScore : scores) {
+            userIds.add(matchScore.userId);
         }
 
-        for (Skill skill1 : list1) {
-            for (Skill skill2 : list2) {
-                if (skill1.getId().equals(skill2.getId())) {
-                    return skill1;
-                }
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            users.put(user.getId(), user);
+        }
+        return users;
+    }
+
+    // One query for every skill named in a match description
+    private Map<Long, Skill> loadCommonSkills(List<MatchScore> scores) {
+        Set<Long> skillIds = new HashSet<>();
+        for (MatchScore matchScore : scores) {
+            if (matchScore.skillYouCanTeachThemId != MatchScore.NO_SKILL) {
+                skillIds.add(matchScore.skillYouCanTeachThemId);
+            }
+            if (matchScore.skillTheyCanTeachYouId != MatchScore.NO_SKILL) {
+                skillIds.add(matchScore.skillTheyCanTeachYouId);
             }
         }
-        return null;
+
+        Map<Long, Skill> skills = new HashMap<>();
+        for (Skill skill : skillRepository.findAllById(skillIds)) {
+            skills.put(skill.getId(), skill);
+        }
+        return skills;
+    }
+
+    private List<Long> toIdList(long[] ids) {
+        List<Long> list = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            list.add(id);
+        }
+        return list;
     }
 
     // Generate human-readable match description
@@ -320,32 +351,4 @@ public class MatchService {
 
         return result;
     }
-
-    // Helper method to get teach skills for a user
-    private List<Skill> getTeachSkillsForUser(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new AuthException("User not found"));
-
-        List<UserTeachSkill> teachSkillRelations = userTeachSkillRepository.findByUser(user);
-        List<Skill> skills = new ArrayList<>();
-
-        for (UserTeachSkill relation : teachSkillRelations) {
-            skills.add(relation.getSkill());
-        }
-        return skills;
-    }
-
-    // Helper method to get learn skills for a user
-    private List<Skill> getLearnSkillsForUser(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new AuthException("User not found"));
-
-        List<UserLearnSkill> learnSkillRelations = userLearnSkillRepository.findByUser(user);
-        List<Skill> skills = new ArrayList<>();
-
-        for (UserLearnSkill relation : learnSkillRelations) {
-            skills.add(relation.getSkill());
-        }
-        return skills;
-    }
-}
\ No newline at end of file
+}
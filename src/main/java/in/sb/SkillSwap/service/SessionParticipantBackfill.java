@@ -0,0 +1,55 @@
+package in.sb.SkillSwap.service;
+
+import in.sb.SkillSwap.repository.SessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// One-time copy of swap request sender/receiver ids into sessions.participant_a_id / participant_b_id
+// for rows created before those columns existed. New sessions get them from Session.setSwapRequest,
+// so after the first run this finds nothing and returns after a single query.
+@Component
+public class SessionParticipantBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionParticipantBackfill.class);
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Value("${skillswap.sessions.participant-backfill.enabled:true}")
+    private boolean enabled;
+
+    // Rows per UPDATE; every batch commits on its own so locks stay short
+    @Value("${skillswap.sessions.participant-backfill.batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        int updated = 0;
+        List<Long> ids = sessionRepository.findIdsMissingParticipants(PageRequest.of(0, batchSize));
+        while (!ids.isEmpty()) {
+            int rows = sessionRepository.backfillParticipants(ids);
+            if (rows == 0) {
+                break; // swap requests without participants; nothing more can be filled in
+            }
+            updated += rows;
+            ids = sessionRepository.findIdsMissingParticipants(PageRequest.of(0, batchSize));
+        }
+
+        if (updated > 0) {
+            log.info("Backfilled participant columns on {} sessions in {} ms", updated, System.currentTimeMillis() - started);
+        }
+    }
+}
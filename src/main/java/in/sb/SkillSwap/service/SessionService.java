@@ -1,16 +1,23 @@
 package in.sb.SkillSwap.service;
 
+import in.sb.SkillSwap.dto.CursorPageDTO;
 import in.sb.SkillSwap.dto.SessionDTO;
 import in.sb.SkillSwap.exception.AuthException;
 import in.sb.SkillSwap.model.*;
 import in.sb.SkillSwap.repository.ProgressTrackingRepository;
+import in.sb.SkillSwap.repository.RatingTotals;
 import in.sb.SkillSwap.repository.SessionRepository;
 import in.sb.SkillSwap.repository.SwapRequestRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.resilience.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import in.sb.SkillSwap.repository.UserRepository; 
+import in.sb.SkillSwap.util.KeysetCursor;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -27,12 +34,13 @@ public class SessionService {
     @Autowired
     private ProgressTrackingRepository progressTrackingRepository;
 
-    @Autowired
-    private UserService userService;
-    
     @Autowired
     private UserRepository userRepository;  
 
+    // Session bucket paging
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     // Generate Jitsi meeting URL
     private String generateJitsiMeetingUrl() {
         String meetingId = UUID.randomUUID().toString().substring(0, 8);
@@ -49,6 +57,7 @@ public class SessionService {
         }
 
         Session session = new Session();
+        // Also fills the participant columns used by every per-user session query
         session.setSwapRequest(swapRequest);
         session.setTitle("Skill Swap: " + swapRequest.getTeachSkill().getName() + 
                         " ↔ " + swapRequest.getLearnSkill().getName());
@@ -70,41 +79,21 @@ public class SessionService {
         return convertToDTO(savedSession);
     }
 
-    // Create progress tracking entries
+    // Create progress tracking entries (one batched INSERT for all four rows)
     private void createProgressTrackingEntries(Session session) {
         SwapRequest swapRequest = session.getSwapRequest();
         
-        // For sender: tracking what they teach
-        ProgressTracking senderTeaching = new ProgressTracking(
-            session, 
-            swapRequest.getSender(), 
-            swapRequest.getTeachSkill()
-        );
-        progressTrackingRepository.save(senderTeaching);
-        
-        // For sender: tracking what they learn
-        ProgressTracking senderLearning = new ProgressTracking(
-            session, 
-            swapRequest.getSender(), 
-            swapRequest.getLearnSkill()
-        );
-        progressTrackingRepository.save(senderLearning);
-        
-        // For receiver: tracking what they teach
-        ProgressTracking receiverTeaching = new ProgressTracking(
-            session, 
-            swapRequest.getReceiver(), 
-            swapRequest.getLearnSkill()
-        );
-        progressTrackingRepository.save(receiverTeaching);
-        
-        // For receiver: tracking what they learn
-        ProgressTracking receiverLearning = new ProgressTracking(
-            session, 
-            swapRequest.getReceiver(), 
-            swapRequest.getTeachSkill()
+        List<ProgressTracking> trackings = List.of(
+            // For sender: tracking what they teach
+            new ProgressTracking(session, swapRequest.getSender(), swapRequest.getTeachSkill()),
+            // For sender: tracking what they learn
+            new ProgressTracking(session, swapRequest.getSender(), swapRequest.getLearnSkill()),
+            // For receiver: tracking what they teach
+            new ProgressTracking(session, swapRequest.getReceiver(), swapRequest.getLearnSkill()),
+            // For receiver: tracking what they learn
+            new ProgressTracking(session, swapRequest.getReceiver(), swapRequest.getTeachSkill())
         );
-        progressTrackingRepository.save(receiverLearning);
+        progressTrackingRepository.saveAll(trackings);
     }
 
     // Schedule a session
@@ -188,9 +177,13 @@ public class SessionService {
     }
 
     // Complete a session (both users need to confirm)
+    // Optimistic-lock conflicts and lock timeouts are retried in a fresh transaction
+    @Retryable(includes = ConcurrencyFailureException.class,
+            maxRetriesString = "${skillswap.concurrency.max-retries:3}",
+            delayString = "${skillswap.concurrency.retry-delay-ms:20}", jitter = 10, multiplier = 2)
     @Transactional
     public SessionDTO completeSession(Long sessionId, Long userId) {
-        Session session = sessionRepository.findById(sessionId)
+        Session session = sessionRepository.findByIdForConfirmation(sessionId)
                 .orElseThrow(() -> new AuthException("Session not found"));
 
         // Verify user is part of the session
@@ -217,129 +210,106 @@ public class SessionService {
 
     // Check if both users have confirmed completion
     private boolean checkBothUsersConfirmed(Session session, Long currentUserId) {
-        SwapRequest swapRequest = session.getSwapRequest();
-        Long senderId = swapRequest.getSender().getId();
-        Long receiverId = swapRequest.getReceiver().getId();
-        
-        // Get progress tracking for both users
-        List<ProgressTracking> senderTrackings = progressTrackingRepository.findByUser(swapRequest.getSender());
-        List<ProgressTracking> receiverTrackings = progressTrackingRepository.findByUser(swapRequest.getReceiver());
-        
-        boolean senderConfirmed = false;
-        boolean receiverConfirmed = false;
-        
-        // Check if sender has confirmed
-        for (ProgressTracking tracking : senderTrackings) {
-            if (tracking.getSession().getId().equals(session.getId()) && 
-                tracking.isBothConfirmed()) {
-                senderConfirmed = true;
-                break;
-            }
-        }
+        Long[] participants = participantIds(session);
         
-        // Check if receiver has confirmed
-        for (ProgressTracking tracking : receiverTrackings) {
-            if (tracking.getSession().getId().equals(session.getId()) && 
-                tracking.isBothConfirmed()) {
-                receiverConfirmed = true;
-                break;
-            }
-        }
+        // Users with a fully confirmed tracking row in this session
+        Set<Long> confirmedUserIds = progressTrackingRepository.findFullyConfirmedUserIds(session.getId());
         
-        return senderConfirmed && receiverConfirmed;
+        return confirmedUserIds.contains(participants[0]) && confirmedUserIds.contains(participants[1]);
     }
 
     // Update user confirmation in progress tracking
     private void updateUserConfirmation(Session session, Long userId) {
         SwapRequest swapRequest = session.getSwapRequest();
-        User user = userService.getUserById(userId);
         
-        // Get all progress trackings for this user and session
-        List<ProgressTracking> userTrackings = progressTrackingRepository.findByUser(user);
-        
-        for (ProgressTracking tracking : userTrackings) {
-            if (tracking.getSession().getId().equals(session.getId())) {
-                // Determine if this tracking is for teaching or learning
-                Skill skill = tracking.getSkill();
-                
-                if (userId.equals(swapRequest.getSender().getId())) {
-                    // User is sender
-                    if (skill.getId().equals(swapRequest.getTeachSkill().getId())) {
-                        tracking.setTaughtConfirmed(true);
-                    } else if (skill.getId().equals(swapRequest.getLearnSkill().getId())) {
-                        tracking.setLearnedConfirmed(true);
-                    }
-                } else if (userId.equals(swapRequest.getReceiver().getId())) {
-                    // User is receiver
-                    if (skill.getId().equals(swapRequest.getLearnSkill().getId())) {
-                        tracking.setTaughtConfirmed(true);
-                    } else if (skill.getId().equals(swapRequest.getTeachSkill().getId())) {
-                        tracking.setLearnedConfirmed(true);
-                    }
-                }
-                
-                progressTrackingRepository.save(tracking);
-            }
+        // The sender teaches teachSkill and learns learnSkill; the receiver the other way round
+        Long taughtSkillId;
+        Long learnedSkillId;
+        if (userId.equals(swapRequest.getSender().getId())) {
+            taughtSkillId = swapRequest.getTeachSkill().getId();
+            learnedSkillId = swapRequest.getLearnSkill().getId();
+        } else if (userId.equals(swapRequest.getReceiver().getId())) {
+            taughtSkillId = swapRequest.getLearnSkill().getId();
+            learnedSkillId = swapRequest.getTeachSkill().getId();
+        } else {
+            return;
         }
+        
+        // One UPDATE over this user's rows for this session
+        progressTrackingRepository.confirmSkills(session.getId(), userId, taughtSkillId, learnedSkillId, LocalDateTime.now());
     }
 
-    // Update user ratings based on session feedback
+    // Update user ratings based on session feedback: one aggregate query, then one atomic increment per rated user
     private void updateUserRatings(Session session) {
-        SwapRequest swapRequest = session.getSwapRequest();
-        
-        // Get all progress trackings for this session
-        List<ProgressTracking> trackings = progressTrackingRepository.findBySession(session);
-        
-        Map<Long, List<Integer>> userRatings = new HashMap<>();
-        
-        // Collect all ratings
-        for (ProgressTracking tracking : trackings) {
-            if (tracking.getRatingGiven() != null) {
-                Long userId = tracking.getUser().getId();
-                userRatings.putIfAbsent(userId, new ArrayList<>());
-                userRatings.get(userId).add(tracking.getRatingGiven());
-            }
-        }
-        
-        // Update user ratings
-        for (Map.Entry<Long, List<Integer>> entry : userRatings.entrySet()) {
-            Long userId = entry.getKey();
-            List<Integer> ratings = entry.getValue();
-            
-            if (!ratings.isEmpty()) {
-                // Get user from repository
-                Optional<User> userOptional = userRepository.findById(userId);
-                if (userOptional.isPresent()) {
-                    User user = userOptional.get();
-                    double average = ratings.stream().mapToInt(Integer::intValue).average().orElse(0.0);
-                    
-                    // Update user's overall rating
-                    if (user.getRating() == null || user.getRating() == 0.0) {
-                        user.setRating(average);
-                    } else {
-                        // Weighted average (70% old rating, 30% new rating)
-                        double newRating = (user.getRating() * 0.7) + (average * 0.3);
-                        user.setRating(Math.round(newRating * 10.0) / 10.0); // Round to 1 decimal
-                    }
-                    
-                    userRepository.save(user);
-                }
-            }
+        for (RatingTotals totals : progressTrackingRepository.findRatingTotals(session.getId())) {
+            userRepository.addRatings(totals.getUserId(), totals.getSum(), totals.getCount());
         }
     }
 
     // Get sessions for user with details
     public List<SessionDTO> getSessionsForUser(Long userId) {
-        User user = userService.getUserById(userId);
-        List<Session> sessions = sessionRepository.findByUser(user);
+        List<Session> sessions = sessionRepository.findByUser(userId);
         return convertToDTOList(sessions);
     }
 
     // Get sessions categorized by status
     public Map<String, List<SessionDTO>> getSessionsByStatus(Long userId) {
-        User user = userService.getUserById(userId);
-        List<Session> allSessions = sessionRepository.findByUser(user);
-        
+        List<Session> allSessions = sessionRepository.findByUser(userId);
+        return categorizeByStatus(allSessions);
+    }
+
+    // One keyset page of a single bucket (created / upcoming / inProgress / completed), sorted in the
+    // database: upcoming by scheduled date, completed by completion time (newest first), the rest by creation time
+    public CursorPageDTO<SessionDTO> getSessionBucket(Long userId, String bucket, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // One extra row tells whether another page follows
+        Pageable page = PageRequest.of(0, pageSize + 1);
+
+        List<Session> sessions;
+        switch (bucket) {
+            // Unscheduled sessions sort after every scheduled one, and completed sessions without a completion
+            // time after every timed one; the cursor carries the same substitute date
+            case "upcoming":
+                sessions = cursor == null
+                        ? sessionRepository.findPageByScheduledDate(userId, SessionStatus.SCHEDULED, KeysetCursor.NEWEST,
+                                KeysetCursor.OLDEST, 0L, page)
+                        : sessionRepository.findPageByScheduledDate(userId, SessionStatus.SCHEDULED, KeysetCursor.NEWEST,
+                                KeysetCursor.date(cursor), KeysetCursor.id(cursor), page);
+                break;
+            case "completed":
+                sessions = cursor == null
+                        ? sessionRepository.findPageByCompletedAt(userId, SessionStatus.COMPLETED, KeysetCursor.OLDEST,
+                                KeysetCursor.NEWEST, Long.MAX_VALUE, page)
+                        : sessionRepository.findPageByCompletedAt(userId, SessionStatus.COMPLETED, KeysetCursor.OLDEST,
+                                KeysetCursor.date(cursor), KeysetCursor.id(cursor), page);
+                break;
+            case "created":
+            case "inProgress":
+                SessionStatus status = bucket.equals("created") ? SessionStatus.CREATED : SessionStatus.IN_PROGRESS;
+                sessions = cursor == null
+                        ? sessionRepository.findPageByCreatedAt(userId, status, KeysetCursor.NEWEST, Long.MAX_VALUE, page)
+                        : sessionRepository.findPageByCreatedAt(userId, status, KeysetCursor.date(cursor), KeysetCursor.id(cursor), page);
+                break;
+            default:
+                throw new AuthException("Unknown session bucket: " + bucket);
+        }
+
+        String nextCursor = null;
+        if (sessions.size() > pageSize) {
+            sessions = sessions.subList(0, pageSize);
+            Session last = sessions.get(pageSize - 1);
+            LocalDateTime lastDate = bucket.equals("upcoming")
+                    ? Objects.requireNonNullElse(last.getScheduledDate(), KeysetCursor.NEWEST)
+                    : bucket.equals("completed")
+                    ? Objects.requireNonNullElse(last.getCompletedAt(), KeysetCursor.OLDEST)
+                    : last.getCreatedAt();
+            nextCursor = KeysetCursor.encode(lastDate, last.getId());
+        }
+        return new CursorPageDTO<>(convertToDTOList(sessions), nextCursor);
+    }
+
+    // Split sessions into created / upcoming / inProgress / completed DTO lists
+    Map<String, List<SessionDTO>> categorizeByStatus(List<Session> allSessions) {
         List<SessionDTO> upcomingSessions = new ArrayList<>();
         List<SessionDTO> inProgressSessions = new ArrayList<>();
         List<SessionDTO> completedSessions = new ArrayList<>();
@@ -383,7 +353,7 @@ public class SessionService {
 
     // Get session by ID with full details
     public SessionDTO getSessionById(Long sessionId, Long userId) {
-        Session session = sessionRepository.findById(sessionId)
+        Session session = sessionRepository.findDetailById(sessionId)
                 .orElseThrow(() -> new AuthException("Session not found"));
 
         // Verify user is part of the session
@@ -422,26 +392,9 @@ public class SessionService {
         boolean currentUserConfirmed = false;
         boolean partnerConfirmed = false;
         
-        List<ProgressTracking> currentUserTrackings = progressTrackingRepository.findByUser(
-            userService.getUserById(currentUserId)
-        );
-        List<ProgressTracking> partnerTrackings = progressTrackingRepository.findByUser(partner);
-        
-        for (ProgressTracking tracking : currentUserTrackings) {
-            if (tracking.getSession().getId().equals(session.getId()) && 
-                tracking.isBothConfirmed()) {
-                currentUserConfirmed = true;
-                break;
-            }
-        }
-        
-        for (ProgressTracking tracking : partnerTrackings) {
-            if (tracking.getSession().getId().equals(session.getId()) && 
-                tracking.isBothConfirmed()) {
-                partnerConfirmed = true;
-                break;
-            }
-        }
+        Set<Long> confirmedUserIds = progressTrackingRepository.findFullyConfirmedUserIds(session.getId());
+        currentUserConfirmed = confirmedUserIds.contains(currentUserId);
+        partnerConfirmed = confirmedUserIds.contains(partner.getId());
         
         // Add confirmation status to description
         String confirmationStatus = "\n\nCompletion Status: ";
@@ -462,15 +415,24 @@ public class SessionService {
 
     // Verify user is part of the session
     private void verifyUserInSession(Session session, Long userId) {
-        SwapRequest swapRequest = session.getSwapRequest();
-        if (!swapRequest.getSender().getId().equals(userId) && 
-            !swapRequest.getReceiver().getId().equals(userId)) {
+        Long[] participants = participantIds(session);
+        if (!participants[0].equals(userId) && !participants[1].equals(userId)) {
             throw new AuthException("You are not authorized to access this session");
         }
     }
 
+    // Sender and receiver ids from the session's own columns, so the lazy swap request is not loaded.
+    // Falls back to the swap request for rows the participant backfill has not reached.
+    private Long[] participantIds(Session session) {
+        if (session.getParticipantAId() != null && session.getParticipantBId() != null) {
+            return new Long[] { session.getParticipantAId(), session.getParticipantBId() };
+        }
+        SwapRequest swapRequest = session.getSwapRequest();
+        return new Long[] { swapRequest.getSender().getId(), swapRequest.getReceiver().getId() };
+    }
+
     // Helper methods for conversion
-    private SessionDTO convertToDTO(Session session) {
+    SessionDTO convertToDTO(Session session) {
         SessionDTO dto = new SessionDTO();
         dto.setId(session.getId());
         dto.setTitle(session.getTitle());
@@ -497,7 +459,7 @@ public class SessionService {
     
  // Add this method to SessionService.java
     public Map<String, Object> getMeetingDetails(Long sessionId, Long userId) {
-        Session session = sessionRepository.findById(sessionId)
+        Session session = sessionRepository.findDetailById(sessionId)
                 .orElseThrow(() -> new AuthException("Session not found"));
 
         // Verify user is part of the session
@@ -541,9 +503,13 @@ public class SessionService {
     }
     
  // Add this method to SessionService.java (simple version)
+    // Optimistic-lock conflicts and lock timeouts are retried in a fresh transaction
+    @Retryable(includes = ConcurrencyFailureException.class,
+            maxRetriesString = "${skillswap.concurrency.max-retries:3}",
+            delayString = "${skillswap.concurrency.retry-delay-ms:20}", jitter = 10, multiplier = 2)
     @Transactional
     public SessionDTO markAsCompleted(Long sessionId, Long userId) {
-        Session session = sessionRepository.findById(sessionId)
+        Session session = sessionRepository.findByIdForConfirmation(sessionId)
                 .orElseThrow(() -> new AuthException("Session not found"));
 
         // Verify user is part of the session
@@ -562,19 +528,7 @@ public class SessionService {
 
     // Helper method to update progress tracking
     private void updateUserProgressTracking(Session session, Long userId) {
-        SwapRequest swapRequest = session.getSwapRequest();
-        User user = userService.getUserById(userId);
-        
-        // Get all progress trackings for this user and session
-        List<ProgressTracking> userTrackings = progressTrackingRepository.findByUser(user);
-        
-        for (ProgressTracking tracking : userTrackings) {
-            if (tracking.getSession().getId().equals(session.getId())) {
-                // Mark both taught and learned as confirmed for this user
-                tracking.setTaughtConfirmed(true);
-                tracking.setLearnedConfirmed(true);
-                progressTrackingRepository.save(tracking);
-            }
-        }
+        // Mark both taught and learned as confirmed for this user's rows of this session
+        progressTrackingRepository.confirmAll(session.getId(), userId, LocalDateTime.now());
     }
-}
\ No newline at end of file
+}
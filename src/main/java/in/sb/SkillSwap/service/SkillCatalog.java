@@ -0,0 +1,268 @@
+package in.sb.SkillSwap.service;
+
+import in.sb.SkillSwap.dto.SkillDTO;
+import in.sb.SkillSwap.event.SkillCatalogChangedEvent;
+import in.sb.SkillSwap.exception.AuthException;
+import in.sb.SkillSwap.model.Skill;
+import in.sb.SkillSwap.repository.SkillRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Resident copy of the skills table for the skill picker and category pages.
+// Search runs against a trigram index over the lower-cased names, so autocomplete never reaches the database.
+// The catalog is loaded at startup and dropped after every committed skill insert; the next read reloads it.
+// Skills are only ever added, so the name -> skill map is kept across reloads and only grows.
+@Component
+public class SkillCatalog {
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Bumped on every invalidation so a load that raced with an insert is not kept
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    // Length of the skills name, description and category columns (VARCHAR(255))
+    private static final int MAX_COLUMN_LENGTH = 255;
+
+    // Folded name (trimmed, single-spaced, lower case) -> skill
+    private final Map<String, SkillDTO> skillsByName = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        current();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    // Keep the new row out of the catalog until the transaction that inserted it commits
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillCatalogChanged(SkillCatalogChangedEvent event) {
+        invalidate();
+    }
+
+    // The skill with this name, created if no spelling of it exists yet.
+    // Known names are answered from memory. New ones go through an insert-if-absent, so two users adding the same
+    // new skill at once wait on the unique key and both end up with the one row instead of a duplicate-key error.
+    public Skill getOrCreate(String name, String category, String description) {
+        String displayName = collapseWhitespace(name);
+        if (displayName.isEmpty()) {
+            throw new AuthException("Skill name is required");
+        }
+        checkLength("Skill name", displayName);
+        String key = displayName.toLowerCase(Locale.ROOT);
+
+        SkillDTO known = skillsByName.get(key);
+        if (known != null) {
+            return toReference(known);
+        }
+
+        checkLength("Skill description", description);
+        checkLength("Skill category", category);
+        skillRepository.insertIfAbsent(displayName, description, category);
+        Skill skill = skillRepository.findByNameForShare(displayName)
+                .orElseThrow(() -> new AuthException("Skill not found"));
+        // The driver reports a duplicate as one matched row, so an insert cannot be told apart from a row
+        // another transaction committed; either way the catalog reloads once this transaction commits
+        eventPublisher.publishEvent(new SkillCatalogChangedEvent(skill.getId()));
+        return skill;
+    }
+
+    public List<SkillDTO> getAll() {
+        return current().skills;
+    }
+
+    public List<SkillDTO> getByCategory(String category) {
+        if (category == null) {
+            return List.of();
+        }
+        return current().skillsByCategory.getOrDefault(normalize(category), List.of());
+    }
+
+    // Names containing the query, best match first: exact name, name prefix, word prefix, anywhere else.
+    // Ties go to the shorter name, then alphabetical order.
+    public List<SkillDTO> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Snapshot catalog = current();
+        List<Integer> matches = new ArrayList<>();
+        if (q.length() < 3) {
+            // Too short for a trigram; a scan over the resident names is still sub-millisecond
+            for (int i = 0; i < catalog.names.length; i++) {
+                if (catalog.names[i].contains(q)) {
+                    matches.add(i);
+                }
+            }
+        } else {
+            // Start from the rarest trigram of the query, then confirm the full substring
+            int[] candidates = null;
+            for (String trigram : trigrams(q)) {
+                int[] posting = catalog.trigramIndex.get(trigram);
+                if (posting == null) {
+                    return List.of();
+                }
+                if (candidates == null || posting.length < candidates.length) {
+                    candidates = posting;
+                }
+            }
+            for (int i : candidates) {
+                if (catalog.names[i].contains(q)) {
+                    matches.add(i);
+                }
+            }
+        }
+
+        matches.sort(Comparator.<Integer>comparingInt(i -> rank(catalog.names[i], q))
+                .thenComparingInt(i -> catalog.names[i].length())
+                .thenComparing(i -> catalog.names[i]));
+
+        List<SkillDTO> results = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            results.add(catalog.skills.get(matches.get(i)));
+        }
+        return results;
+    }
+
+    // Helper methods
+    // Rejected here rather than left to the database, which would fail the whole transaction
+    private void checkLength(String field, String value) {
+        if (value != null && value.length() > MAX_COLUMN_LENGTH) {
+            throw new AuthException(field + " must be at most " + MAX_COLUMN_LENGTH + " characters");
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot catalog = snapshot;
+        if (catalog != null) {
+            return catalog;
+        }
+        synchronized (this) {
+            catalog = snapshot;
+            if (catalog != null) {
+                return catalog;
+            }
+            long loadedGeneration = generation.get();
+            catalog = build(skillRepository.findAll());
+            if (generation.get() == loadedGeneration) {
+                snapshot = catalog;
+            }
+            return catalog;
+        }
+    }
+
+    private Snapshot build(List<Skill> rows) {
+        List<SkillDTO> skills = new ArrayList<>(rows.size());
+        String[] names = new String[rows.size()];
+        Map<String, List<SkillDTO>> skillsByCategory = new HashMap<>();
+        Map<String, List<Integer>> postings = new HashMap<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            Skill skill = rows.get(i);
+            SkillDTO dto = toDTO(skill);
+            skills.add(dto);
+            names[i] = normalize(skill.getName());
+            skillsByName.putIfAbsent(collapseWhitespace(skill.getName()).toLowerCase(Locale.ROOT), dto);
+            if (skill.getCategory() != null) {
+                skillsByCategory.computeIfAbsent(normalize(skill.getCategory()), c -> new ArrayList<>()).add(dto);
+            }
+            for (String trigram : trigrams(names[i])) {
+                postings.computeIfAbsent(trigram, t -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Map<String, int[]> trigramIndex = new HashMap<>(postings.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : postings.entrySet()) {
+            trigramIndex.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        skillsByCategory.replaceAll((category, list) -> Collections.unmodifiableList(list));
+
+        return new Snapshot(Collections.unmodifiableList(skills), names, skillsByCategory, trigramIndex);
+    }
+
+    private SkillDTO toDTO(Skill skill) {
+        return new SkillDTO(skill.getId(), skill.getName(), skill.getDescription(), skill.getCategory());
+    }
+
+    // Detached Skill carrying the row's id and fields; enough to link it from UserTeachSkill/UserLearnSkill
+    // without loading the row again
+    private Skill toReference(SkillDTO dto) {
+        Skill skill = new Skill(dto.getName(), dto.getDescription(), dto.getCategory());
+        skill.setId(dto.getId());
+        return skill;
+    }
+
+    private String collapseWhitespace(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ");
+    }
+
+    private int rank(String name, String query) {
+        if (name.equals(query)) {
+            return 0;
+        }
+        if (name.startsWith(query)) {
+            return 1;
+        }
+        int at = name.indexOf(query);
+        while (at > 0) {
+            if (!Character.isLetterOrDigit(name.charAt(at - 1))) {
+                return 2;
+            }
+            at = name.indexOf(query, at + 1);
+        }
+        return 3;
+    }
+
+    // Distinct three-character windows of an already normalized string
+    private Set<String> trigrams(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    // Matches the case-insensitive collation the LIKE/category queries relied on
+    private String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Snapshot {
+        private final List<SkillDTO> skills;
+        private final String[] names;
+        private final Map<String, List<SkillDTO>> skillsByCategory;
+        private final Map<String, int[]> trigramIndex;
+
+        Snapshot(List<SkillDTO> skills, String[] names, Map<String, List<SkillDTO>> skillsByCategory,
+                 Map<String, int[]> trigramIndex) {
+            this.skills = skills;
+            this.names = names;
+            this.skillsByCategory = skillsByCategory;
+            this.trigramIndex = trigramIndex;
+        }
+    }
+}
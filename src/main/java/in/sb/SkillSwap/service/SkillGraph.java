@@ -0,0 +1,25 @@
+package in.sb.SkillSwap.service;
+
+import java.util.Map;
+
+// Teach/learn skill ids for a batch of users, held as sorted primitive arrays
+public class SkillGraph {
+    private static final long[] NO_SKILLS = new long[0];
+
+    private final Map<Long, long[]> teachSkillsByUser;
+    private final Map<Long, long[]> learnSkillsByUser;
+
+    // Constructor
+    public SkillGraph(Map<Long, long[]> teachSkillsByUser, Map<Long, long[]> learnSkillsByUser) {
+        this.teachSkillsByUser = teachSkillsByUser;
+        this.learnSkillsByUser = learnSkillsByUser;
+    }
+
+    public long[] getTeachSkills(Long userId) {
+        return teachSkillsByUser.getOrDefault(userId, NO_SKILLS);
+    }
+
+    public long[] getLearnSkills(Long userId) {
+        return learnSkillsByUser.getOrDefault(userId, NO_SKILLS);
+    }
+}
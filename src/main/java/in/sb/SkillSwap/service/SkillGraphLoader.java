@@ -0,0 +1,64 @@
+package in.sb.SkillSwap.service;
+
+import in.sb.SkillSwap.repository.UserLearnSkillRepository;
+import in.sb.SkillSwap.repository.UserSkillPair;
+import in.sb.SkillSwap.repository.UserTeachSkillRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Bulk loader for the matching path: fetches (userId, skillId) pairs for many users at once
+// instead of one findById + findByUser round trip per user.
+@Component
+public class SkillGraphLoader {
+
+    // Keeps the IN (...) list well below driver/statement limits
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private UserTeachSkillRepository userTeachSkillRepository;
+
+    @Autowired
+    private UserLearnSkillRepository userLearnSkillRepository;
+
+    public SkillGraph load(Collection<Long> userIds) {
+        List<UserSkillPair> teachPairs = new ArrayList<>();
+        List<UserSkillPair> learnPairs = new ArrayList<>();
+
+        List<Long> ids = new ArrayList<>(userIds);
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            teachPairs.addAll(userTeachSkillRepository.findUserSkillPairsByUserIds(batch));
+            learnPairs.addAll(userLearnSkillRepository.findUserSkillPairsByUserIds(batch));
+        }
+
+        return new SkillGraph(groupByUser(teachPairs), groupByUser(learnPairs));
+    }
+
+    // Group pairs into one sorted long[] of skill ids per user
+    private Map<Long, long[]> groupByUser(List<UserSkillPair> pairs) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (UserSkillPair pair : pairs) {
+            counts.merge(pair.getUserId(), 1, Integer::sum);
+        }
+
+        Map<Long, long[]> skillsByUser = new HashMap<>(counts.size() * 2);
+        Map<Long, Integer> filled = new HashMap<>(counts.size() * 2);
+        for (UserSkillPair pair : pairs) {
+            long[] skills = skillsByUser.computeIfAbsent(pair.getUserId(), id -> new long[counts.get(id)]);
+            int position = filled.merge(pair.getUserId(), 1, Integer::sum) - 1;
+            skills[position] = pair.getSkillId();
+        }
+
+        for (long[] skills : skillsByUser.values()) {
+            Arrays.sort(skills);
+        }
+        return skillsByUser;
+    }
+}
@@ -1,8 +1,10 @@
 package in.sb.SkillSwap.service;
 
 import in.sb.SkillSwap.dto.SkillDTO;
+import in.sb.SkillSwap.dto.SkillProfileRequest;
 import in.sb.SkillSwap.dto.UserSkillRequest;
 import in.sb.SkillSwap.dto.UserSkillResponse;
+import in.sb.SkillSwap.event.SkillProfileChangedEvent;
 import in.sb.SkillSwap.exception.AuthException;
 import in.sb.SkillSwap.model.Skill;
 import in.sb.SkillSwap.model.User;
@@ -13,13 +15,17 @@ import in.sb.SkillSwap.repository.UserLearnSkillRepository;
 import in.sb.SkillSwap.repository.UserRepository;
 import in.sb.SkillSwap.repository.UserTeachSkillRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 @Service
 public class SkillService {
@@ -39,31 +45,35 @@ public class SkillService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SkillCatalog skillCatalog;
+
+    @Value("${skillswap.skills.search.default-limit:20}")
+    private int defaultSearchLimit;
+
+    @Value("${skillswap.skills.search.max-limit:100}")
+    private int maxSearchLimit;
+
     // Skill Management Methods
     public Skill createOrGetSkill(String name, String category, String description) {
-        Optional<Skill> existingSkill = skillRepository.findByName(name);
-        
-        if (existingSkill.isPresent()) {
-            return existingSkill.get();
-        }
-        
-        Skill newSkill = new Skill(name, description, category);
-        return skillRepository.save(newSkill);
+        return skillCatalog.getOrCreate(name, category, description);
     }
 
+    // Catalog reads are served from SkillCatalog, not the skills table
     public List<SkillDTO> getAllSkills() {
-        List<Skill> skills = skillRepository.findAll();
-        return convertToSkillDTOList(skills);
+        return skillCatalog.getAll();
     }
 
-    public List<SkillDTO> searchSkills(String query) {
-        List<Skill> skills = skillRepository.findByNameContainingIgnoreCase(query);
-        return convertToSkillDTOList(skills);
+    public List<SkillDTO> searchSkills(String query, Integer limit) {
+        int size = limit == null ? defaultSearchLimit : Math.max(1, Math.min(limit, maxSearchLimit));
+        return skillCatalog.search(query, size);
     }
 
     public List<SkillDTO> getSkillsByCategory(String category) {
-        List<Skill> skills = skillRepository.findByCategory(category);
-        return convertToSkillDTOList(skills);
+        return skillCatalog.getByCategory(category);
     }
 
     // User Teach Skills Methods
@@ -91,6 +101,7 @@ public class SkillService {
         );
 
         UserTeachSkill saved = userTeachSkillRepository.save(userTeachSkill);
+        eventPublisher.publishEvent(SkillProfileChangedEvent.teachSkillAdded(userId, skill.getId()));
         return convertToUserSkillResponse(saved);
     }
     
@@ -100,8 +111,8 @@ public class SkillService {
     }
 
     public List<UserSkillResponse> getTeachSkills(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new AuthException("User not found"));
+        // The id comes from a verified token, so a reference is enough for the lookup
+        User user = userRepository.getReferenceById(userId);
 
         List<UserTeachSkill> teachSkills = userTeachSkillRepository.findByUser(user);
         return convertToUserTeachSkillResponseList(teachSkills);
@@ -116,6 +127,7 @@ public class SkillService {
                 .orElseThrow(() -> new AuthException("Skill not found"));
 
         userTeachSkillRepository.deleteByUserAndSkill(user, skill);
+        eventPublisher.publishEvent(SkillProfileChangedEvent.teachSkillRemoved(userId, skillId));
     }
 
     // User Learn Skills Methods
@@ -143,12 +155,13 @@ public class SkillService {
         );
 
         UserLearnSkill saved = userLearnSkillRepository.save(userLearnSkill);
+        eventPublisher.publishEvent(SkillProfileChangedEvent.learnSkillAdded(userId, skill.getId()));
         return convertToUserSkillResponse(saved);
     }
 
     public List<UserSkillResponse> getLearnSkills(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new AuthException("User not found"));
+        // The id comes from a verified token, so a reference is enough for the lookup
+        User user = userRepository.getReferenceById(userId);
 
         List<UserLearnSkill> learnSkills = userLearnSkillRepository.findByUser(user);
         return convertToUserLearnSkillResponseList(learnSkills);
@@ -163,6 +176,121 @@ public class SkillService {
                 .orElseThrow(() -> new AuthException("Skill not found"));
 
         userLearnSkillRepository.deleteByUserAndSkill(user, skill);
+        eventPublisher.publishEvent(SkillProfileChangedEvent.learnSkillRemoved(userId, skillId));
+    }
+
+    // Bulk profile edit: replaces the user's teach and/or learn list with the given one.
+    // Stored rows are diffed against the request so unchanged skills are left alone; additions go out as
+    // batched INSERTs, removals as one DELETE, and the match index gets a single event for the whole change.
+    @Transactional
+    public Map<String, List<UserSkillResponse>> updateSkillProfile(Long userId, SkillProfileRequest request) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new AuthException("User not found"));
+
+        List<Long> addedTeach = new ArrayList<>();
+        List<Long> removedTeach = new ArrayList<>();
+        List<Long> addedLearn = new ArrayList<>();
+        List<Long> removedLearn = new ArrayList<>();
+
+        List<UserTeachSkill> teachSkills = request.getTeachSkills() == null
+                ? userTeachSkillRepository.findByUserIdWithSkill(userId)
+                : syncTeachSkills(user, request.getTeachSkills(), addedTeach, removedTeach);
+        List<UserLearnSkill> learnSkills = request.getLearnSkills() == null
+                ? userLearnSkillRepository.findByUserIdWithSkill(userId)
+                : syncLearnSkills(user, request.getLearnSkills(), addedLearn, removedLearn);
+
+        if (!addedTeach.isEmpty() || !removedTeach.isEmpty() || !addedLearn.isEmpty() || !removedLearn.isEmpty()) {
+            eventPublisher.publishEvent(
+                    new SkillProfileChangedEvent(userId, addedTeach, removedTeach, addedLearn, removedLearn));
+        }
+
+        Map<String, List<UserSkillResponse>> profile = new LinkedHashMap<>();
+        profile.put("teachSkills", convertToUserTeachSkillResponseList(teachSkills));
+        profile.put("learnSkills", convertToUserLearnSkillResponseList(learnSkills));
+        return profile;
+    }
+
+    private List<UserTeachSkill> syncTeachSkills(User user, List<UserSkillRequest> requests,
+                                                 List<Long> added, List<Long> removed) {
+        Map<Long, Skill> skills = new HashMap<>();
+        Map<Long, UserSkillRequest> requested = resolveSkills(requests, skills);
+
+        List<UserTeachSkill> kept = new ArrayList<>();
+        List<UserTeachSkill> dropped = new ArrayList<>();
+        for (UserTeachSkill existing : userTeachSkillRepository.findByUserIdWithSkill(user.getId())) {
+            UserSkillRequest skillRequest = requested.remove(existing.getSkill().getId());
+            if (skillRequest == null) {
+                dropped.add(existing);
+                removed.add(existing.getSkill().getId());
+            } else {
+                // Dirty checking only writes rows whose level or goal actually changed
+                existing.setProficiencyLevel(skillRequest.getLevel());
+                existing.setTeachingExperience(skillRequest.getGoal());
+                kept.add(existing);
+            }
+        }
+
+        List<UserTeachSkill> created = new ArrayList<>();
+        for (Map.Entry<Long, UserSkillRequest> entry : requested.entrySet()) {
+            created.add(new UserTeachSkill(user, skills.get(entry.getKey()),
+                    entry.getValue().getLevel(), entry.getValue().getGoal()));
+            added.add(entry.getKey());
+        }
+
+        if (!dropped.isEmpty()) {
+            userTeachSkillRepository.deleteAllInBatch(dropped);
+        }
+        kept.addAll(userTeachSkillRepository.saveAll(created));
+        return kept;
+    }
+
+    private List<UserLearnSkill> syncLearnSkills(User user, List<UserSkillRequest> requests,
+                                                 List<Long> added, List<Long> removed) {
+        Map<Long, Skill> skills = new HashMap<>();
+        Map<Long, UserSkillRequest> requested = resolveSkills(requests, skills);
+
+        List<UserLearnSkill> kept = new ArrayList<>();
+        List<UserLearnSkill> dropped = new ArrayList<>();
+        for (UserLearnSkill existing : userLearnSkillRepository.findByUserIdWithSkill(user.getId())) {
+            UserSkillRequest skillRequest = requested.remove(existing.getSkill().getId());
+            if (skillRequest == null) {
+                dropped.add(existing);
+                removed.add(existing.getSkill().getId());
+            } else {
+                // Dirty checking only writes rows whose level or goal actually changed
+                existing.setCurrentLevel(skillRequest.getLevel());
+                existing.setLearningGoal(skillRequest.getGoal());
+                kept.add(existing);
+            }
+        }
+
+        List<UserLearnSkill> created = new ArrayList<>();
+        for (Map.Entry<Long, UserSkillRequest> entry : requested.entrySet()) {
+            created.add(new UserLearnSkill(user, skills.get(entry.getKey()),
+                    entry.getValue().getLevel(), entry.getValue().getGoal()));
+            added.add(entry.getKey());
+        }
+
+        if (!dropped.isEmpty()) {
+            userLearnSkillRepository.deleteAllInBatch(dropped);
+        }
+        kept.addAll(userLearnSkillRepository.saveAll(created));
+        return kept;
+    }
+
+    // Requested entries by skill id, creating unknown skill names; a skill listed twice keeps its last entry
+    private Map<Long, UserSkillRequest> resolveSkills(List<UserSkillRequest> requests, Map<Long, Skill> skills) {
+        Map<Long, UserSkillRequest> requested = new LinkedHashMap<>();
+        for (UserSkillRequest skillRequest : requests) {
+            Skill skill = createOrGetSkill(
+                skillRequest.getSkillName(),
+                skillRequest.getCategory(),
+                skillRequest.getDescription()
+            );
+            requested.put(skill.getId(), skillRequest);
+            skills.put(skill.getId(), skill);
+        }
+        return requested;
     }
 
     // Helper Methods
@@ -175,14 +303,6 @@ public class SkillService {
         );
     }
 
-    private List<SkillDTO> convertToSkillDTOList(List<Skill> skills) {
-        List<SkillDTO> skillDTOs = new ArrayList<>();
-        for (Skill skill : skills) {
-            skillDTOs.add(convertToSkillDTO(skill));
-        }
-        return skillDTOs;
-    }
-
     private UserSkillResponse convertToUserSkillResponse(UserTeachSkill userTeachSkill) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
         return new UserSkillResponse(
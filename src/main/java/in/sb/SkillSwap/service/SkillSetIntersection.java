@@ -0,0 +1,126 @@
+package in.sb.SkillSwap.service;
+
+// Intersection of two skill sets held as sorted, duplicate-free long[] (see SkillGraphLoader).
+// Plain merge walk for similar sizes; binary search of the smaller set into the larger when
+// the sizes are very uneven. Nothing is allocated, so it is safe in the scoring hot loop.
+final class SkillSetIntersection {
+
+    // Beyond this size ratio probing the larger set is cheaper than walking it
+    private static final int SKEW_RATIO = 16;
+
+    // Result of the last intersect() call
+    private int count;
+    private long firstCommonSkillId = MatchScore.NO_SKILL;
+
+    // Counts the common skills and remembers the smallest one; the instance can be reused
+    int intersect(long[] a, long[] b) {
+        count = 0;
+        firstCommonSkillId = MatchScore.NO_SKILL;
+
+        long[] small = a.length <= b.length ? a : b;
+        long[] large = small == a ? b : a;
+
+        if (small.length * SKEW_RATIO < large.length) {
+            int from = 0;
+            for (long skillId : small) {
+                int index = binarySearch(large, from, skillId);
+                if (index >= 0) {
+                    record(skillId);
+                    from = index + 1;
+                } else {
+                    from = -index - 1;
+                }
+                if (from == large.length) {
+                    break;
+                }
+            }
+            return count;
+        }
+
+        int i = 0;
+        int j = 0;
+        while (i < small.length && j < large.length) {
+            if (small[i] < large[j]) {
+                i++;
+            } else if (small[i] > large[j]) {
+                j++;
+            } else {
+                record(small[i]);
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    long getFirstCommonSkillId() {
+        return firstCommonSkillId;
+    }
+
+    // Count only, for callers that do not need the common skill id
+    static int count(long[] a, long[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return 0;
+        }
+        long[] small = a.length <= b.length ? a : b;
+        long[] large = small == a ? b : a;
+
+        int common = 0;
+        if (small.length * SKEW_RATIO < large.length) {
+            int from = 0;
+            for (long skillId : small) {
+                int index = binarySearch(large, from, skillId);
+                if (index >= 0) {
+                    common++;
+                    from = index + 1;
+                } else {
+                    from = -index - 1;
+                }
+                if (from == large.length) {
+                    break;
+                }
+            }
+            return common;
+        }
+
+        int i = 0;
+        int j = 0;
+        while (i < small.length && j < large.length) {
+            if (small[i] < large[j]) {
+                i++;
+            } else if (small[i] > large[j]) {
+                j++;
+            } else {
+                common++;
+                i++;
+                j++;
+            }
+        }
+        return common;
+    }
+
+    // Helper methods
+    private void record(long skillId) {
+        if (count++ == 0) {
+            firstCommonSkillId = skillId;
+        }
+    }
+
+    // Same contract as Arrays.binarySearch over [from, array.length)
+    private static int binarySearch(long[] array, int from, long key) {
+        int low = from;
+        int high = array.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long value = array[middle];
+            if (value < key) {
+                low = middle + 1;
+            } else if (value > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+}
@@ -1,5 +1,6 @@
 package in.sb.SkillSwap.service;
 
+import in.sb.SkillSwap.dto.CursorPageDTO;
 import in.sb.SkillSwap.dto.SessionDTO;
 import in.sb.SkillSwap.dto.SwapRequestCreateDTO;
 import in.sb.SkillSwap.dto.SwapRequestDTO;
@@ -8,18 +9,35 @@ import in.sb.SkillSwap.model.*;
 import in.sb.SkillSwap.repository.SessionRepository;
 import in.sb.SkillSwap.repository.SkillRepository;
 import in.sb.SkillSwap.repository.SwapRequestRepository;
+import in.sb.SkillSwap.repository.SwapRequestRow;
 import in.sb.SkillSwap.repository.UserRepository;
+import in.sb.SkillSwap.util.KeysetCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.resilience.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 
 @Service
 public class SwapRequestService {
 
+    private static final Logger log = LoggerFactory.getLogger(SwapRequestService.class);
+
+    // Inbox/outbox paging
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private SwapRequestRepository swapRequestRepository;
 
@@ -81,8 +99,8 @@ public class SwapRequestService {
 
     // Get swap requests sent by user
     public List<SwapRequestDTO> getSentRequests(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new AuthException("User not found"));
+        // The id comes from a verified token, so a reference is enough for the lookup
+        User user = userRepository.getReferenceById(userId);
 
         List<SwapRequest> requests = swapRequestRepository.findBySender(user);
         return convertToDTOList(requests);
@@ -90,17 +108,77 @@ public class SwapRequestService {
 
     // Get swap requests received by user
     public List<SwapRequestDTO> getReceivedRequests(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new AuthException("User not found"));
+        // The id comes from a verified token, so a reference is enough for the lookup
+        User user = userRepository.getReferenceById(userId);
 
         List<SwapRequest> requests = swapRequestRepository.findByReceiver(user);
         return convertToDTOList(requests);
     }
 
+    // One page of the requests a user received (inbox) or sent (outbox), newest first, optionally of one status.
+    // Rows come from a single projected query; pass nextCursor back as cursor for the following page.
+    public CursorPageDTO<SwapRequestDTO> getRequestPage(Long userId, String box, String status,
+                                                        String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // One extra row tells whether another page follows
+        Pageable page = PageRequest.of(0, pageSize + 1);
+        LocalDateTime beforeDate = cursor == null ? KeysetCursor.NEWEST : KeysetCursor.date(cursor);
+        Long beforeId = cursor == null ? Long.MAX_VALUE : KeysetCursor.id(cursor);
+        SwapRequestStatus statusFilter = parseStatus(status);
+
+        List<SwapRequestRow> rows;
+        switch (box) {
+            case "inbox":
+                rows = statusFilter == null
+                        ? swapRequestRepository.findInboxPage(userId, KeysetCursor.OLDEST, beforeDate, beforeId, page)
+                        : swapRequestRepository.findInboxPageByStatus(userId, statusFilter, KeysetCursor.OLDEST,
+                                beforeDate, beforeId, page);
+                break;
+            case "outbox":
+                rows = statusFilter == null
+                        ? swapRequestRepository.findOutboxPage(userId, KeysetCursor.OLDEST, beforeDate, beforeId, page)
+                        : swapRequestRepository.findOutboxPageByStatus(userId, statusFilter, KeysetCursor.OLDEST,
+                                beforeDate, beforeId, page);
+                break;
+            default:
+                throw new AuthException("Unknown request box: " + box);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            SwapRequestRow last = rows.get(pageSize - 1);
+            // Same substitute date the queries sort a missing created_at by
+            LocalDateTime lastDate = Objects.requireNonNullElse(last.getCreatedAt(), KeysetCursor.OLDEST);
+            nextCursor = KeysetCursor.encode(lastDate, last.getId());
+        }
+
+        List<SwapRequestDTO> items = new ArrayList<>(rows.size());
+        for (SwapRequestRow row : rows) {
+            items.add(row.getDto());
+        }
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    private SwapRequestStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return SwapRequestStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new AuthException("Unknown request status: " + status);
+        }
+    }
+
     // Accept a swap request
+    // Optimistic-lock conflicts and lock timeouts are retried in a fresh transaction
+    @Retryable(includes = ConcurrencyFailureException.class,
+            maxRetriesString = "${skillswap.concurrency.max-retries:3}",
+            delayString = "${skillswap.concurrency.retry-delay-ms:20}", jitter = 10, multiplier = 2)
     @Transactional
     public SwapRequestDTO acceptSwapRequest(Long requestId, Long userId) {
-        SwapRequest swapRequest = swapRequestRepository.findById(requestId)
+        SwapRequest swapRequest = swapRequestRepository.findWithParticipantsById(requestId)
                 .orElseThrow(() -> new AuthException("Swap request not found"));
 
         // Verify user is the receiver
@@ -108,9 +186,16 @@ public class SwapRequestService {
             throw new AuthException("You are not authorized to accept this request");
         }
 
-        // Update status
+        // A retry after losing to a concurrent reject or cancel must not overwrite that outcome;
+        // a repeated accept goes on to the session check below
+        if (swapRequest.getStatus() != SwapRequestStatus.PENDING && swapRequest.getStatus() != SwapRequestStatus.ACCEPTED) {
+            throw new AuthException("This request is already " + swapRequest.getStatus().name().toLowerCase(Locale.ROOT));
+        }
+
+        // Update status; flushed here so a concurrent accept fails on the version check
+        // before the session lookup below rather than inside its catch block
         swapRequest.setStatus(SwapRequestStatus.ACCEPTED);
-        SwapRequest updatedRequest = swapRequestRepository.save(swapRequest);
+        SwapRequest updatedRequest = swapRequestRepository.saveAndFlush(swapRequest);
 
         // Create a session for this swap (with Jitsi link)
         try {
@@ -118,23 +203,26 @@ public class SwapRequestService {
             List<Session> existingSessions = sessionRepository.findBySwapRequest(updatedRequest);
             if (existingSessions.isEmpty()) {
                 SessionDTO session = sessionService.createSessionFromSwapRequest(updatedRequest);
-                System.out.println("✅ Session created with Jitsi link: " + session.getMeetingUrl());
+                log.info("Created session {} for swap request {}", session.getId(), requestId);
             } else {
-                System.out.println("ℹ️ Session already exists for swap request: " + requestId);
+                log.debug("Session already exists for swap request {}", requestId);
             }
         } catch (Exception e) {
             // Log error but don't fail the request acceptance
-            System.err.println("❌ Failed to create session: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Failed to create session for swap request {}", requestId, e);
         }
 
         return convertToDTO(updatedRequest);
     }
 
     // Reject a swap request
+    // Optimistic-lock conflicts and lock timeouts are retried in a fresh transaction
+    @Retryable(includes = ConcurrencyFailureException.class,
+            maxRetriesString = "${skillswap.concurrency.max-retries:3}",
+            delayString = "${skillswap.concurrency.retry-delay-ms:20}", jitter = 10, multiplier = 2)
     @Transactional
     public SwapRequestDTO rejectSwapRequest(Long requestId, Long userId) {
-        SwapRequest swapRequest = swapRequestRepository.findById(requestId)
+        SwapRequest swapRequest = swapRequestRepository.findWithParticipantsById(requestId)
                 .orElseThrow(() -> new AuthException("Swap request not found"));
 
         // Verify user is the receiver
@@ -142,6 +230,11 @@ public class SwapRequestService {
             throw new AuthException("You are not authorized to reject this request");
         }
 
+        // Same as accept: a retry must not overwrite a concurrent accept or cancel
+        if (swapRequest.getStatus() != SwapRequestStatus.PENDING && swapRequest.getStatus() != SwapRequestStatus.REJECTED) {
+            throw new AuthException("This request is already " + swapRequest.getStatus().name().toLowerCase(Locale.ROOT));
+        }
+
         // Update status
         swapRequest.setStatus(SwapRequestStatus.REJECTED);
         SwapRequest updatedRequest = swapRequestRepository.save(swapRequest);
@@ -152,7 +245,7 @@ public class SwapRequestService {
     // Cancel a swap request
     @Transactional
     public SwapRequestDTO cancelSwapRequest(Long requestId, Long userId) {
-        SwapRequest swapRequest = swapRequestRepository.findById(requestId)
+        SwapRequest swapRequest = swapRequestRepository.findWithParticipantsById(requestId)
                 .orElseThrow(() -> new AuthException("Swap request not found"));
 
         // Verify user is the sender
@@ -169,7 +262,7 @@ public class SwapRequestService {
 
     // Get swap request by ID
     public SwapRequestDTO getSwapRequestById(Long requestId, Long userId) {
-        SwapRequest swapRequest = swapRequestRepository.findById(requestId)
+        SwapRequest swapRequest = swapRequestRepository.findWithParticipantsById(requestId)
                 .orElseThrow(() -> new AuthException("Swap request not found"));
 
         // Verify user is involved in the request
@@ -182,7 +275,7 @@ public class SwapRequestService {
     }
 
     // Helper methods for conversion
-    private SwapRequestDTO convertToDTO(SwapRequest swapRequest) {
+    SwapRequestDTO convertToDTO(SwapRequest swapRequest) {
         SwapRequestDTO dto = new SwapRequestDTO();
         dto.setId(swapRequest.getId());
         dto.setSender(convertToUserDTO(swapRequest.getSender()));
@@ -8,10 +8,12 @@ import in.sb.SkillSwap.model.User;
 import in.sb.SkillSwap.repository.UserRepository;
 import in.sb.SkillSwap.util.JwtUtil;
 import in.sb.SkillSwap.util.PasswordUtil;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class UserService {
@@ -25,30 +27,33 @@ public class UserService {
     @Autowired
     private JwtUtil jwtUtil;
     
-    public AuthResponse register(RegisterRequest registerRequest) {
+    // Hashing runs on the password pool; the request thread is released while it works
+    public CompletableFuture<AuthResponse> register(RegisterRequest registerRequest) {
         // Check if user already exists
         if (userRepository.existsByEmail(registerRequest.getEmail())) {
             throw new AuthException("User with this email already exists");
         }
         
-        // Create new user
-        User user = new User();
-        user.setEmail(registerRequest.getEmail());
-        user.setPassword(passwordUtil.hashPassword(registerRequest.getPassword()));
-        user.setFirstName(registerRequest.getFirstName());
-        user.setLastName(registerRequest.getLastName());
-        
-        // Save user
-        User savedUser = userRepository.save(user);
-        
-        // Generate token
-        String token = jwtUtil.generateToken(savedUser);
-        
-        // Return response
-        return new AuthResponse(token, savedUser, "Registration successful");
+        return passwordUtil.hashPasswordAsync(registerRequest.getPassword()).thenApply(hashedPassword -> {
+            // Create new user
+            User user = new User();
+            user.setEmail(registerRequest.getEmail());
+            user.setPassword(hashedPassword);
+            user.setFirstName(registerRequest.getFirstName());
+            user.setLastName(registerRequest.getLastName());
+            
+            // Save user
+            User savedUser = userRepository.save(user);
+            
+            // Generate token
+            String token = jwtUtil.generateToken(savedUser);
+            
+            // Return response
+            return new AuthResponse(token, savedUser, "Registration successful");
+        });
     }
     
-    public AuthResponse login(AuthRequest authRequest) {
+    public CompletableFuture<AuthResponse> login(AuthRequest authRequest) {
         // Find user by email
         Optional<User> userOptional = userRepository.findByEmail(authRequest.getEmail());
         
@@ -57,17 +62,28 @@ public class UserService {
         }
         
         User user = userOptional.get();
+        String storedHash = user.getPassword();
         
-        // Verify password
-        if (!passwordUtil.verifyPassword(authRequest.getPassword(), user.getPassword())) {
-            throw new AuthException("Invalid email or password");
-        }
-        
-        // Generate token
-        String token = jwtUtil.generateToken(user);
-        
-        // Return response
-        return new AuthResponse(token, user, "Login successful");
+        return passwordUtil.submit(() -> {
+            // Verify password
+            if (!passwordUtil.verifyPassword(authRequest.getPassword(), storedHash)) {
+                throw new AuthException("Invalid email or password");
+            }
+            
+            // Bring hashes from an older cost setting up to date while the plain password is at hand
+            if (passwordUtil.needsRehash(storedHash)) {
+                String upgraded = passwordUtil.hashPassword(authRequest.getPassword());
+                if (userRepository.updatePassword(user.getId(), storedHash, upgraded) == 1) {
+                    user.setPassword(upgraded);
+                }
+            }
+            
+            // Generate token
+            String token = jwtUtil.generateToken(user);
+            
+            // Return response
+            return new AuthResponse(token, user, "Login successful");
+        });
     }
     
     public User getUserById(Long userId) {
@@ -85,12 +101,12 @@ public class UserService {
     }
     
     public User getUserFromToken(String token) {
-        if (!validateToken(token)) {
+        Claims claims = jwtUtil.getVerifiedClaims(token);
+        if (claims == null) {
             throw new AuthException("Invalid token");
         }
         
-        String email = jwtUtil.extractEmail(token);
-        return getUserByEmail(email);
+        return getUserByEmail(claims.getSubject());
     }
  // Add these methods to UserService class
 
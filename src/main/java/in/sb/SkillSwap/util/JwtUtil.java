@@ -2,23 +2,71 @@ package in.sb.SkillSwap.util;
 
 import in.sb.SkillSwap.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
-public class JwtUtil {
+public class JwtUtil implements MeterBinder {
     
     // In production, use a proper secret key from environment variables
     private final SecretKey SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256);
     private final long EXPIRATION_TIME = 1000 * 60 * 60 * 24; // 24 hours in milliseconds
     
+    // Parsers are immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser = Jwts.parser()
+            .verifyWith(SECRET_KEY)
+            .build();
+    
+    // Verified claims by token digest, so a token is only signature-checked once until it expires.
+    // Lookups take no lock; when the cache outgrows cacheSize one thread evicts expired entries and then
+    // the ones closest to expiry (the oldest tokens), down to 90% of the limit.
+    @Value("${skillswap.jwt.cache-size:10000}")
+    private int cacheSize = 10000;
+    
+    private final Map<String, CachedClaims> verifiedTokens = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    
+    // Validation metrics
+    private final AtomicLong validTokens = new AtomicLong();
+    private final AtomicLong expiredTokens = new AtomicLong();
+    private final AtomicLong invalidTokens = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    
+    private static class CachedClaims {
+        final Claims claims;
+        final long expiresAt;
+        
+        CachedClaims(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
     public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", user.getId());
@@ -40,11 +88,22 @@ public class JwtUtil {
     }
     
     public boolean validateToken(String token) {
+        return getVerifiedClaims(token) != null;
+    }
+    
+    // Verified claims of the token, or null if it is expired or invalid. One digest and one cache lookup,
+    // so callers that need several claims should read them all from the returned object.
+    public Claims getVerifiedClaims(String token) {
         try {
-            parseToken(token);
-            return true;
+            Claims claims = parseToken(token);
+            validTokens.incrementAndGet();
+            return claims;
+        } catch (ExpiredJwtException e) {
+            expiredTokens.incrementAndGet();
+            return null;
         } catch (Exception e) {
-            return false;
+            invalidTokens.incrementAndGet();
+            return null;
         }
     }
     
@@ -54,10 +113,76 @@ public class JwtUtil {
     }
     
     private Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(SECRET_KEY)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        
+        CachedClaims cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (now < cached.expiresAt) {
+                cacheHits.incrementAndGet();
+                return cached.claims;
+            }
+            verifiedTokens.remove(digest, cached);
+        }
+        cacheMisses.incrementAndGet();
+        
+        // Throws for a bad signature or an expired token - nothing is cached in that case
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() != null && cacheSize > 0) {
+            verifiedTokens.put(digest, new CachedClaims(claims, claims.getExpiration().getTime()));
+            if (verifiedTokens.size() > cacheSize) {
+                evict(now);
+            }
+        }
+        return claims;
+    }
+    
+    // Callers that find another thread already evicting go on without waiting for it
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            verifiedTokens.values().removeIf(cached -> cached.expiresAt <= now);
+            int excess = verifiedTokens.size() - cacheSize * 9 / 10;
+            if (excess > 0) {
+                List<Map.Entry<String, CachedClaims>> entries = new ArrayList<>(verifiedTokens.entrySet());
+                entries.sort(Comparator.comparingLong(entry -> entry.getValue().expiresAt));
+                for (Map.Entry<String, CachedClaims> entry : entries.subList(0, Math.min(excess, entries.size()))) {
+                    verifiedTokens.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+    
+    // skillswap.jwt.validations by outcome (valid/expired/invalid), verified-claims cache hits and misses, cache size
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindCounter(registry, "skillswap.jwt.validations", "outcome", "valid", validTokens);
+        bindCounter(registry, "skillswap.jwt.validations", "outcome", "expired", expiredTokens);
+        bindCounter(registry, "skillswap.jwt.validations", "outcome", "invalid", invalidTokens);
+        bindCounter(registry, "skillswap.jwt.cache.lookups", "result", "hit", cacheHits);
+        bindCounter(registry, "skillswap.jwt.cache.lookups", "result", "miss", cacheMisses);
+        Gauge.builder("skillswap.jwt.cache.size", verifiedTokens, Map::size)
+                .description("Verified tokens currently cached")
+                .register(registry);
+    }
+    
+    private void bindCounter(MeterRegistry registry, String name, String tag, String value, AtomicLong counter) {
+        FunctionCounter.builder(name, counter, AtomicLong::get)
+                .tag(tag, value)
+                .register(registry);
+    }
+    
+    // SHA-256 of the token, so the cache never holds usable bearer tokens
+    private String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package in.sb.SkillSwap.util;
+
+import in.sb.SkillSwap.exception.AuthException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque cursor for (date, id) keyset pagination: base64url("<date>|<id>") of the last row on the previous page
+public final class KeysetCursor {
+
+    // First-page bounds for ascending and descending date orders, inside the MySQL DATETIME range
+    public static final LocalDateTime OLDEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    public static final LocalDateTime NEWEST = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    private KeysetCursor() {
+    }
+
+    // Callers substitute OLDEST or NEWEST for a missing date, the same way their queries sort it
+    public static String encode(LocalDateTime date, Long id) {
+        if (date == null || id == null) {
+            throw new IllegalArgumentException("Cursor needs a date and an id");
+        }
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static LocalDateTime date(String cursor) {
+        try {
+            return LocalDateTime.parse(decode(cursor)[0]);
+        } catch (DateTimeParseException e) {
+            throw new AuthException("Invalid cursor");
+        }
+    }
+
+    public static Long id(String cursor) {
+        try {
+            return Long.valueOf(decode(cursor)[1]);
+        } catch (NumberFormatException e) {
+            throw new AuthException("Invalid cursor");
+        }
+    }
+
+    private static String[] decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 2) {
+                throw new AuthException("Invalid cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new AuthException("Invalid cursor");
+        }
+    }
+}
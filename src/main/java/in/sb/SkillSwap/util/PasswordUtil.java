@@ -1,22 +1,157 @@
 package in.sb.SkillSwap.util;
 
+import in.sb.SkillSwap.exception.ServiceBusyException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// BCrypt runs on its own bounded pool so a burst of logins cannot tie up the request threads.
+// When every hashing thread is busy and the queue is full, callers fail fast with a 503 instead of waiting.
+// Metrics: skillswap.password.hashing (timer, tag operation=hash/verify), skillswap.password.pool.queued,
+// skillswap.password.pool.active (gauges) and skillswap.password.rejections (counter).
 @Component
-public class PasswordUtil {
-    
-    private final BCryptPasswordEncoder passwordEncoder;
-    
-    public PasswordUtil() {
-        this.passwordEncoder = new BCryptPasswordEncoder();
-    }
-    
+public class PasswordUtil implements MeterBinder {
+
+    // BCrypt cost (log2 rounds); stored hashes with a different cost are re-hashed on the next login
+    @Value("${skillswap.password.bcrypt-strength:10}")
+    private int strength = 10;
+
+    // 0 = one hashing thread per available processor
+    @Value("${skillswap.password.hashing-threads:0}")
+    private int threads;
+
+    @Value("${skillswap.password.queue-capacity:64}")
+    private int queueCapacity = 64;
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private ThreadPoolExecutor hashingPool;
+
+    // Hashing metrics, exported in bindTo
+    private final AtomicLong hashes = new AtomicLong();
+    private final AtomicLong hashNanos = new AtomicLong();
+    private final AtomicLong verifications = new AtomicLong();
+    private final AtomicLong verificationNanos = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        passwordEncoder = new BCryptPasswordEncoder(strength);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        hashingPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
     public String hashPassword(String plainPassword) {
-        return passwordEncoder.encode(plainPassword);
+        long started = System.nanoTime();
+        String hashed = passwordEncoder.encode(plainPassword);
+        record(hashes, hashNanos, started);
+        return hashed;
     }
-    
+
     public boolean verifyPassword(String plainPassword, String hashedPassword) {
-        return passwordEncoder.matches(plainPassword, hashedPassword);
+        long started = System.nanoTime();
+        boolean matches = passwordEncoder.matches(plainPassword, hashedPassword);
+        record(verifications, verificationNanos, started);
+        return matches;
+    }
+
+    public CompletableFuture<String> hashPasswordAsync(String plainPassword) {
+        return submit(() -> hashPassword(plainPassword));
+    }
+
+    // Runs any password work (verify, then maybe re-hash) as one task on the hashing pool.
+    // The caller's MDC (request id) is carried over, and stays set for the stages the completed task runs.
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        try {
+            return CompletableFuture.supplyAsync(task, command -> hashingPool.execute(withMdc(context, command)));
+        } catch (RejectedExecutionException e) {
+            rejections.incrementAndGet();
+            throw new ServiceBusyException("Too many concurrent sign-ins, please retry shortly");
+        }
+    }
+
+    // True when the stored hash was produced with a different cost than the configured one
+    public boolean needsRehash(String hashedPassword) {
+        // $2a$10$... - the cost is the two digits after the second '$'
+        if (hashedPassword == null || hashedPassword.length() < 7 || hashedPassword.charAt(3) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(hashedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindTimer(registry, "hash", hashes, hashNanos);
+        bindTimer(registry, "verify", verifications, verificationNanos);
+        Gauge.builder("skillswap.password.pool.queued", this, util -> util.hashingPool.getQueue().size())
+                .description("Password tasks waiting for a hashing thread")
+                .register(registry);
+        Gauge.builder("skillswap.password.pool.active", this, util -> util.hashingPool.getActiveCount())
+                .description("Hashing threads currently busy")
+                .register(registry);
+        FunctionCounter.builder("skillswap.password.rejections", rejections, AtomicLong::get)
+                .description("Sign-ins rejected with 503 because the hashing queue was full")
+                .register(registry);
+    }
+
+    // Helper methods
+    private static Runnable withMdc(Map<String, String> context, Runnable command) {
+        return () -> {
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            try {
+                command.run();
+            } finally {
+                MDC.clear();
+            }
+        };
+    }
+
+    private void record(AtomicLong counter, AtomicLong nanos, long started) {
+        nanos.addAndGet(System.nanoTime() - started);
+        counter.incrementAndGet();
+    }
+
+    private void bindTimer(MeterRegistry registry, String operation, AtomicLong counter, AtomicLong nanos) {
+        FunctionTimer.builder("skillswap.password.hashing", this, util -> counter.get(), util -> nanos.get(),
+                        TimeUnit.NANOSECONDS)
+                .description("BCrypt time per operation")
+                .tag("operation", operation)
+                .register(registry);
     }
-}
\ No newline at end of file
+}
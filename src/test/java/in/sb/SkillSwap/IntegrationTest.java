@@ -0,0 +1,34 @@
+package in.sb.SkillSwap;
+
+import in.sb.SkillSwap.model.Skill;
+import in.sb.SkillSwap.model.User;
+import in.sb.SkillSwap.repository.SkillRepository;
+import in.sb.SkillSwap.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Base for tests that run the application against H2 (settings in application-test.properties).
+// Subclasses without extra configuration share one cached context, so one database; the fixture builders
+// give every user and skill a name unique to the test instance, so data from earlier tests never collides.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+public abstract class IntegrationTest {
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected SkillRepository skillRepository;
+
+    // Unique per test instance (JUnit creates one per test method)
+    protected final String run = Long.toString(System.nanoTime());
+
+    protected User newUser(String name) {
+        return userRepository.save(new User(name + "-" + run + "@example.com", "unused", name, "Test"));
+    }
+
+    protected Skill newSkill(String name, String category) {
+        return skillRepository.save(new Skill(name + " " + run, "Test skill", category));
+    }
+}
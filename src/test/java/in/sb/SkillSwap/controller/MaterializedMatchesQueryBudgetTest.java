@@ -0,0 +1,76 @@
+package in.sb.SkillSwap.controller;
+
+import in.sb.SkillSwap.model.UserMatchSnapshot;
+import in.sb.SkillSwap.repository.UserMatchSnapshotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+// The categorized matches read of QueryBudgetTest with materialization on, measured once the caller's
+// snapshot is fresh so the statements counted are those of a snapshot hit (budget: matches/categorized-snapshot).
+// Also checks that snapshot hits are recorded by the skillswap.service.match timer.
+// Nested test configurations are not inherited, so the statement counter is imported explicitly.
+@Import(QueryBudgetTest.CountingConfig.class)
+@TestPropertySource(properties = "skillswap.matching.materialization.enabled=true")
+class MaterializedMatchesQueryBudgetTest extends QueryBudgetTest {
+
+    private static final long REFRESH_TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private UserMatchSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    List<Endpoint> endpoints() {
+        return List.of(read("matches", "categorized-snapshot", f -> get("/api/matches/categorized"),
+                jsonPath("$.perfect").isNotEmpty()));
+    }
+
+    @Override
+    long measure(Endpoint endpoint, Fixture fixture) throws Exception {
+        // The first read misses and queues the refresh; nothing else may touch the DataSource while it runs
+        call(endpoint, fixture);
+        awaitFreshSnapshot(fixture.ownerId);
+
+        double hits = snapshotHits();
+        long timed = timedSnapshotReads();
+        long count = super.measure(endpoint, fixture);
+        assertEquals(hits + 2, snapshotHits(), "reads after the refresh must be snapshot hits");
+        // A hit never reaches a public MatchService method, so only the materializer's own timer sees it
+        assertEquals(timed + 2, timedSnapshotReads(), "snapshot hits must be timed");
+        return count;
+    }
+
+    private void awaitFreshSnapshot(Long userId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + REFRESH_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            Optional<UserMatchSnapshot> snapshot = snapshotRepository.findById(userId);
+            if (snapshot.isPresent() && !snapshot.get().getStale()
+                    && meterRegistry.get("skillswap.matches.refresh.queued").gauge().value() == 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("no fresh snapshot for user " + userId + " after " + REFRESH_TIMEOUT_MILLIS + "ms");
+    }
+
+    private long timedSnapshotReads() {
+        return meterRegistry.get("skillswap.service.match").tag("method", "findCategorizedMatches")
+                .tag("outcome", "success").timer().count();
+    }
+
+    private double snapshotHits() {
+        return meterRegistry.get("skillswap.matches.snapshot.lookups").tag("result", "hit").functionCounter().count();
+    }
+}
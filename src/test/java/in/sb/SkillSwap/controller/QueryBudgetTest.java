@@ -0,0 +1,322 @@
+package in.sb.SkillSwap.controller;
+
+import in.sb.SkillSwap.IntegrationTest;
+import in.sb.SkillSwap.model.Session;
+import in.sb.SkillSwap.model.Skill;
+import in.sb.SkillSwap.model.SwapRequest;
+import in.sb.SkillSwap.model.SwapRequestStatus;
+import in.sb.SkillSwap.model.User;
+import in.sb.SkillSwap.model.UserLearnSkill;
+import in.sb.SkillSwap.model.UserTeachSkill;
+import in.sb.SkillSwap.repository.SessionRepository;
+import in.sb.SkillSwap.repository.SwapRequestRepository;
+import in.sb.SkillSwap.repository.UserLearnSkillRepository;
+import in.sb.SkillSwap.repository.UserTeachSkillRepository;
+import in.sb.SkillSwap.service.MatchIndex;
+import in.sb.SkillSwap.service.SessionService;
+import in.sb.SkillSwap.service.SkillCatalog;
+import in.sb.SkillSwap.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// SQL statements per request for every matches, sessions, swap-requests and skills endpoint, counted at the DataSource.
+// Each endpoint is called for a small and a large user (more partners, requests, sessions and skills):
+// the large user must not cost more statements than the small one, and neither may exceed the budget
+// checked in under src/test/resources/query-budgets/<controller>.properties. An N+1 fails both checks.
+// Runs in a mock web environment of its own, since the statement counter wraps the DataSource.
+@SpringBootTest
+class QueryBudgetTest extends IntegrationTest {
+
+    private static final int SMALL_PARTNERS = 4;
+    private static final int LARGE_PARTNERS = 40;
+    private static final int SMALL_SKILLS = 2;
+    private static final int LARGE_SKILLS = 6;
+
+    private static final StatementCountingDataSource COUNTER = new StatementCountingDataSource();
+
+    @TestConfiguration
+    static class CountingConfig {
+        @Bean
+        static BeanPostProcessor statementCountingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? COUNTER.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SkillCatalog skillCatalog;
+
+    @Autowired
+    private MatchIndex matchIndex;
+
+    @Autowired
+    private UserTeachSkillRepository userTeachSkillRepository;
+
+    @Autowired
+    private UserLearnSkillRepository userLearnSkillRepository;
+
+    @Autowired
+    private SwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    private MockMvc mockMvc;
+    private final List<Skill> teachSkills = new ArrayList<>();
+    private final List<Skill> learnSkills = new ArrayList<>();
+    private Skill spareSkill;
+
+    @BeforeEach
+    void seedSkills() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        for (int i = 0; i < LARGE_SKILLS; i++) {
+            teachSkills.add(newSkill("Teach" + i, "Budget"));
+            learnSkills.add(newSkill("Learn" + i, "Budget"));
+        }
+        spareSkill = newSkill("Spare", "Budget");
+        // Saved behind the catalog's back, so reload it as a committed skill insert would
+        skillCatalog.invalidate();
+        skillCatalog.getAll();
+    }
+
+    @Test
+    void endpointsStayWithinBudgetAndDoNotGrowWithData() throws Exception {
+        Fixture small = seed("small", SMALL_PARTNERS, SMALL_SKILLS);
+        Fixture large = seed("large", LARGE_PARTNERS, LARGE_SKILLS);
+        // The skill rows were saved behind the index's back
+        matchIndex.rebuild();
+
+        List<String> failures = new ArrayList<>();
+        Map<String, Properties> budgets = new HashMap<>();
+        // Writes run once per fixture, in this order, so each one sees the state the one before it left
+        for (Endpoint endpoint : endpoints()) {
+            long smallCount = measure(endpoint, small);
+            long largeCount = measure(endpoint, large);
+            String label = endpoint.file + "/" + endpoint.name + " (small " + smallCount + ", large " + largeCount + ")";
+
+            String budget = budgets.computeIfAbsent(endpoint.file, this::loadBudgets).getProperty(endpoint.name);
+            if (budget == null) {
+                failures.add(label + ": no budget in query-budgets/" + endpoint.file + ".properties");
+                continue;
+            }
+            if (largeCount > smallCount) {
+                failures.add(label + ": statement count grows with data size");
+            }
+            if (Math.max(smallCount, largeCount) > Long.parseLong(budget.trim())) {
+                failures.add(label + ": over budget of " + budget.trim());
+            }
+        }
+        assertTrue(failures.isEmpty(), "Query budget check failed:\n" + String.join("\n", failures));
+    }
+
+    // MaterializedMatchesQueryBudgetTest narrows this to the snapshot read
+    List<Endpoint> endpoints() {
+        List<Endpoint> endpoints = new ArrayList<>();
+
+        // Every partner is a match, so an empty answer means the matching was never exercised
+        endpoints.add(read("matches", "list", f -> get("/api/matches"), jsonPath("$").isNotEmpty()));
+        endpoints.add(read("matches", "list-page", f -> get("/api/matches?offset=0&limit=2"), jsonPath("$").isNotEmpty()));
+        endpoints.add(read("matches", "categorized", f -> get("/api/matches/categorized"), jsonPath("$.perfect").isNotEmpty()));
+        endpoints.add(read("matches", "by-skill", f -> get("/api/matches/skill/" + f.teachSkillId), jsonPath("$.teachers").isNotEmpty()));
+
+        endpoints.add(read("sessions", "list", f -> get("/api/sessions")));
+        endpoints.add(read("sessions", "categorized", f -> get("/api/sessions/categorized")));
+        endpoints.add(read("sessions", "bucket", f -> get("/api/sessions/categorized/created?limit=2")));
+        endpoints.add(read("sessions", "detail", f -> get("/api/sessions/" + f.sessionIds.get(0))));
+        endpoints.add(read("sessions", "meeting-link", f -> get("/api/sessions/" + f.sessionIds.get(0) + "/meeting-link")));
+        endpoints.add(read("sessions", "meeting-details", f -> get("/api/sessions/" + f.sessionIds.get(0) + "/meeting-details")));
+        endpoints.add(write("sessions", "schedule", f -> put("/api/sessions/" + f.sessionIds.get(0) + "/schedule")
+                .param("scheduledDate", "2030-01-15T10:00:00").param("duration", "60")));
+        endpoints.add(write("sessions", "start", f -> put("/api/sessions/" + f.sessionIds.get(0) + "/start")));
+        endpoints.add(write("sessions", "meeting-url", f -> put("/api/sessions/" + f.sessionIds.get(0) + "/meeting-url")
+                .param("meetingUrl", "https://meet.example.com/budget").param("meetingPlatform", "OTHER")));
+        endpoints.add(write("sessions", "notes", f -> put("/api/sessions/" + f.sessionIds.get(0) + "/notes")
+                .param("notes", "Budget notes")));
+        endpoints.add(write("sessions", "resources", f -> put("/api/sessions/" + f.sessionIds.get(0) + "/resources")
+                .param("resources", "https://example.com/budget")));
+        endpoints.add(write("sessions", "complete", f -> put("/api/sessions/" + f.sessionIds.get(1) + "/complete")));
+        endpoints.add(write("sessions", "mark-completed", f -> put("/api/sessions/" + f.sessionIds.get(2) + "/mark-completed")));
+        endpoints.add(write("sessions", "create-from-request", f -> post("/api/sessions/create-from-request/" + f.acceptedWithoutSessionId)));
+
+        endpoints.add(read("swap-requests", "sent", f -> get("/api/swap-requests/sent")));
+        endpoints.add(read("swap-requests", "received", f -> get("/api/swap-requests/received")));
+        endpoints.add(read("swap-requests", "inbox", f -> get("/api/swap-requests/inbox?limit=2")));
+        endpoints.add(read("swap-requests", "inbox-by-status", f -> get("/api/swap-requests/inbox?status=PENDING&limit=2")));
+        endpoints.add(read("swap-requests", "outbox", f -> get("/api/swap-requests/outbox?limit=2")));
+        endpoints.add(read("swap-requests", "detail", f -> get("/api/swap-requests/" + f.incomingIds.get(0))));
+        endpoints.add(write("swap-requests", "create", f -> post("/api/swap-requests")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"receiverId\":" + f.createReceiverId + ",\"teachSkillId\":" + f.teachSkillId
+                        + ",\"learnSkillId\":" + f.teachSkillId + ",\"message\":\"Budget swap\"}")));
+        endpoints.add(write("swap-requests", "accept", f -> put("/api/swap-requests/" + f.incomingIds.get(0) + "/accept")));
+        endpoints.add(write("swap-requests", "reject", f -> put("/api/swap-requests/" + f.incomingIds.get(1) + "/reject")));
+        endpoints.add(write("swap-requests", "cancel", f -> put("/api/swap-requests/" + f.outgoingId + "/cancel")));
+
+        endpoints.add(read("skills", "list", f -> get("/api/skills")));
+        endpoints.add(read("skills", "search", f -> get("/api/skills/search?query=teach")));
+        endpoints.add(read("skills", "category", f -> get("/api/skills/category/budget")));
+        endpoints.add(read("skills", "teach", f -> get("/api/skills/teach")));
+        endpoints.add(read("skills", "learn", f -> get("/api/skills/learn")));
+        endpoints.add(write("skills", "add-teach", f -> post("/api/skills/teach")
+                .contentType(MediaType.APPLICATION_JSON).content(skillJson(spareSkill.getName()))));
+        endpoints.add(write("skills", "remove-teach", f -> delete("/api/skills/teach/" + spareSkill.getId())));
+        endpoints.add(write("skills", "add-learn", f -> post("/api/skills/learn")
+                .contentType(MediaType.APPLICATION_JSON).content(skillJson(spareSkill.getName()))));
+        endpoints.add(write("skills", "remove-learn", f -> delete("/api/skills/learn/" + spareSkill.getId())));
+        endpoints.add(write("skills", "profile", f -> put("/api/skills/profile")
+                .contentType(MediaType.APPLICATION_JSON).content(f.profileJson)));
+
+        return endpoints;
+    }
+
+    // Reads are called once unmeasured so in-memory caches (skill catalog, match index, token claims) are warm
+    long measure(Endpoint endpoint, Fixture fixture) throws Exception {
+        if (endpoint.read) {
+            call(endpoint, fixture);
+        }
+        COUNTER.reset();
+        call(endpoint, fixture);
+        return COUNTER.count();
+    }
+
+    void call(Endpoint endpoint, Fixture fixture) throws Exception {
+        mockMvc.perform(endpoint.request.apply(fixture).header("Authorization", fixture.token))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(endpoint.content);
+    }
+
+    private Properties loadBudgets(String file) {
+        Properties budgets = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/query-budgets/" + file + ".properties")) {
+            assertNotNull(in, "missing query-budgets/" + file + ".properties");
+            budgets.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return budgets;
+    }
+
+    // One user with the given number of partners. Every partner is a match and has an accepted request from the user
+    // with a session plus a pending request to the user; the user also has one pending outgoing request and one
+    // accepted request without a session.
+    private Fixture seed(String label, int partnerCount, int skillCount) {
+        List<Skill> teaches = teachSkills.subList(0, skillCount);
+        List<Skill> learns = learnSkills.subList(0, skillCount);
+
+        User owner = newUser("owner-" + label);
+        teaches.forEach(skill -> userTeachSkillRepository.save(new UserTeachSkill(owner, skill, 4, "Years")));
+        learns.forEach(skill -> userLearnSkillRepository.save(new UserLearnSkill(owner, skill, 1, "Basics")));
+
+        Fixture fixture = new Fixture();
+        fixture.ownerId = owner.getId();
+        fixture.token = "Bearer " + jwtUtil.generateToken(owner);
+        fixture.teachSkillId = teaches.get(0).getId();
+        Skill teach = teaches.get(0);
+        Skill learn = learns.get(0);
+
+        List<User> partners = new ArrayList<>();
+        for (int i = 0; i < partnerCount; i++) {
+            User partner = newUser("partner" + i + "-" + label);
+            learns.forEach(skill -> userTeachSkillRepository.save(new UserTeachSkill(partner, skill, 3, "Years")));
+            teaches.forEach(skill -> userLearnSkillRepository.save(new UserLearnSkill(partner, skill, 1, "Basics")));
+            partners.add(partner);
+
+            SwapRequest accepted = new SwapRequest(owner, partner, teach, learn, "Budget swap");
+            accepted.setStatus(SwapRequestStatus.ACCEPTED);
+            sessionService.createSessionFromSwapRequest(swapRequestRepository.save(accepted));
+            fixture.incomingIds.add(swapRequestRepository.save(new SwapRequest(partner, owner, learn, teach, "Budget swap")).getId());
+        }
+        for (Session session : sessionRepository.findByUser(owner.getId())) {
+            fixture.sessionIds.add(session.getId());
+        }
+
+        fixture.outgoingId = swapRequestRepository.save(new SwapRequest(owner, partners.get(0), teach, learn, "Budget swap")).getId();
+        SwapRequest withoutSession = new SwapRequest(owner, partners.get(2), teach, learn, "Budget swap");
+        withoutSession.setStatus(SwapRequestStatus.ACCEPTED);
+        fixture.acceptedWithoutSessionId = swapRequestRepository.save(withoutSession).getId();
+        fixture.createReceiverId = partners.get(1).getId();
+
+        List<String> teachEntries = new ArrayList<>();
+        teaches.forEach(skill -> teachEntries.add(skillJson(skill.getName())));
+        List<String> learnEntries = new ArrayList<>();
+        learns.forEach(skill -> learnEntries.add(skillJson(skill.getName())));
+        fixture.profileJson = "{\"teachSkills\":[" + String.join(",", teachEntries)
+                + "],\"learnSkills\":[" + String.join(",", learnEntries) + "]}";
+        return fixture;
+    }
+
+    private String skillJson(String name) {
+        return "{\"skillName\":\"" + name + "\",\"category\":\"Budget\",\"level\":2,\"goal\":\"Budget\"}";
+    }
+
+    Endpoint read(String file, String name, Function<Fixture, MockHttpServletRequestBuilder> request) {
+        return read(file, name, request, result -> { });
+    }
+
+    Endpoint read(String file, String name, Function<Fixture, MockHttpServletRequestBuilder> request, ResultMatcher content) {
+        return new Endpoint(file, name, true, request, content);
+    }
+
+    private Endpoint write(String file, String name, Function<Fixture, MockHttpServletRequestBuilder> request) {
+        return new Endpoint(file, name, false, request, result -> { });
+    }
+
+    record Endpoint(String file, String name, boolean read,
+                    Function<Fixture, MockHttpServletRequestBuilder> request, ResultMatcher content) {
+    }
+
+    static class Fixture {
+        Long ownerId;
+        private String token;
+        private Long teachSkillId;
+        private final List<Long> sessionIds = new ArrayList<>();
+        private final List<Long> incomingIds = new ArrayList<>();
+        private Long outgoingId;
+        private Long acceptedWithoutSessionId;
+        private Long createReceiverId;
+        private String profileJson;
+    }
+}
@@ -0,0 +1,87 @@
+package in.sb.SkillSwap.controller;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Wraps a DataSource so every statement sent to the database is counted, whatever issued it
+// (Hibernate, Spring Data native queries, JdbcTemplate). A JDBC batch is one round trip and counts once.
+// Pooled id allocation (the id_generators table) is left out: how often it runs depends on how much
+// of the current block is used up, not on the request being measured.
+final class StatementCountingDataSource {
+
+    private static final String ID_GENERATOR_TABLE = "id_generators";
+
+    private final AtomicLong statements = new AtomicLong();
+
+    DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, target, (method, args) -> {
+            Object result = method.invoke(target, args);
+            return result instanceof Connection connection ? wrapConnection(connection) : result;
+        });
+    }
+
+    long count() {
+        return statements.get();
+    }
+
+    void reset() {
+        statements.set(0);
+    }
+
+    private Connection wrapConnection(Connection target) {
+        return proxy(Connection.class, target, (method, args) -> {
+            Object result = method.invoke(target, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            if (result instanceof CallableStatement statement) {
+                return wrapStatement(CallableStatement.class, statement, sql);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrapStatement(PreparedStatement.class, statement, sql);
+            }
+            if (result instanceof Statement statement) {
+                return wrapStatement(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    private <T extends Statement> T wrapStatement(Class<T> type, T target, String preparedSql) {
+        return proxy(type, target, (method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                if (sql == null || !sql.toLowerCase(Locale.ROOT).contains(ID_GENERATOR_TABLE)) {
+                    statements.incrementAndGet();
+                }
+            }
+            return method.invoke(target, args);
+        });
+    }
+
+    // unwrap/isWrapperFor go straight to the target, so pool-specific lookups still find the real pool
+    private <T> T proxy(Class<T> type, T target, Invoker invoker) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                if (method.getName().equals("unwrap") || method.getName().equals("isWrapperFor")) {
+                    return method.invoke(target, args);
+                }
+                return invoker.invoke(method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private interface Invoker {
+        Object invoke(Method method, Object[] args) throws Exception;
+    }
+}
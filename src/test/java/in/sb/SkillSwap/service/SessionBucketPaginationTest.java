@@ -0,0 +1,100 @@
+package in.sb.SkillSwap.service;
+
+import in.sb.SkillSwap.IntegrationTest;
+import in.sb.SkillSwap.dto.CursorPageDTO;
+import in.sb.SkillSwap.dto.SessionDTO;
+import in.sb.SkillSwap.model.Session;
+import in.sb.SkillSwap.model.SessionStatus;
+import in.sb.SkillSwap.model.Skill;
+import in.sb.SkillSwap.model.SwapRequest;
+import in.sb.SkillSwap.model.SwapRequestStatus;
+import in.sb.SkillSwap.model.User;
+import in.sb.SkillSwap.repository.SessionRepository;
+import in.sb.SkillSwap.repository.SwapRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Walks the upcoming and completed buckets two rows at a time. Sessions without a scheduled date or
+// completion time must still be listed, after the dated ones, and every cursor must be readable.
+class SessionBucketPaginationTest extends IntegrationTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    private User owner;
+    private User partner;
+    private Skill teachSkill;
+    private Skill learnSkill;
+
+    @BeforeEach
+    void seed() {
+        owner = newUser("owner");
+        partner = newUser("partner");
+        teachSkill = newSkill("Chess", "Games");
+        learnSkill = newSkill("Drawing", "Art");
+    }
+
+    @Test
+    void upcomingListsUnscheduledSessionsLast() {
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 10, 0);
+        Long later = createSession(SessionStatus.SCHEDULED, base.plusDays(2), null);
+        Long unscheduledA = createSession(SessionStatus.SCHEDULED, null, null);
+        Long earlier = createSession(SessionStatus.SCHEDULED, base, null);
+        Long unscheduledB = createSession(SessionStatus.SCHEDULED, null, null);
+        Long sameDay = createSession(SessionStatus.SCHEDULED, base, null);
+
+        assertEquals(List.of(earlier, sameDay, later, unscheduledA, unscheduledB), walk("upcoming"));
+    }
+
+    @Test
+    void completedListsUntimedSessionsLast() {
+        LocalDateTime base = LocalDateTime.of(2024, 6, 1, 18, 0);
+        Long untimedA = createSession(SessionStatus.COMPLETED, null, null);
+        Long older = createSession(SessionStatus.COMPLETED, null, base);
+        Long untimedB = createSession(SessionStatus.COMPLETED, null, null);
+        Long newer = createSession(SessionStatus.COMPLETED, null, base.plusHours(3));
+        Long untimedC = createSession(SessionStatus.COMPLETED, null, null);
+
+        assertEquals(List.of(newer, older, untimedC, untimedB, untimedA), walk("completed"));
+    }
+
+    // Every id of the bucket in page order, following nextCursor until the last page
+    private List<Long> walk(String bucket) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<SessionDTO> page = sessionService.getSessionBucket(owner.getId(), bucket, cursor, PAGE_SIZE);
+            page.getItems().forEach(session -> ids.add(session.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private Long createSession(SessionStatus status, LocalDateTime scheduledDate, LocalDateTime completedAt) {
+        SwapRequest request = new SwapRequest(owner, partner, teachSkill, learnSkill, "Pagination test swap");
+        request.setStatus(SwapRequestStatus.ACCEPTED);
+        request = swapRequestRepository.save(request);
+        sessionService.createSessionFromSwapRequest(request);
+
+        Session session = sessionRepository.findBySwapRequest(request).get(0);
+        session.setStatus(status);
+        session.setScheduledDate(scheduledDate);
+        session.setCompletedAt(completedAt);
+        return sessionRepository.save(session).getId();
+    }
+}
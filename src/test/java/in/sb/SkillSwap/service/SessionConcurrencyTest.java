@@ -0,0 +1,241 @@
+package in.sb.SkillSwap.service;
+
+import in.sb.SkillSwap.IntegrationTest;
+import in.sb.SkillSwap.exception.AuthException;
+import in.sb.SkillSwap.model.ProgressTracking;
+import in.sb.SkillSwap.model.Session;
+import in.sb.SkillSwap.model.SessionStatus;
+import in.sb.SkillSwap.model.Skill;
+import in.sb.SkillSwap.model.SwapRequest;
+import in.sb.SkillSwap.model.SwapRequestStatus;
+import in.sb.SkillSwap.model.User;
+import in.sb.SkillSwap.repository.ProgressTrackingRepository;
+import in.sb.SkillSwap.repository.SessionRepository;
+import in.sb.SkillSwap.repository.SwapRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Both participants of many sessions confirming at once, plus duplicate accepts of the same request and accepts
+// racing rejects. Every call must succeed (conflicts are retried) unless it lost such a race, no confirmation may
+// be lost, and the pool must drain within the timeout, which would not happen on a deadlock.
+class SessionConcurrencyTest extends IntegrationTest {
+
+    private static final int USERS = 40;
+    private static final int THREADS = 8;
+    private static final long TIMEOUT_SECONDS = 120;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SwapRequestService swapRequestService;
+
+    @Autowired
+    private SwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private ProgressTrackingRepository progressTrackingRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private Skill teachSkill;
+    private Skill learnSkill;
+    private final Random random = new Random(42);
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < USERS; i++) {
+            users.add(newUser("user" + i));
+        }
+        teachSkill = newSkill("Python", "Programming");
+        learnSkill = newSkill("Guitar", "Music");
+    }
+
+    @Test
+    void parallelMarkAsCompletedLosesNoConfirmation() throws InterruptedException {
+        List<Session> sessions = createSessions(1000);
+
+        List<Runnable> calls = new ArrayList<>();
+        for (Session session : sessions) {
+            calls.add(() -> sessionService.markAsCompleted(session.getId(), session.getParticipantAId()));
+            calls.add(() -> sessionService.markAsCompleted(session.getId(), session.getParticipantBId()));
+        }
+        runConcurrently(calls);
+
+        for (Session session : sessions) {
+            Session stored = sessionRepository.findById(session.getId()).orElseThrow();
+            assertEquals(SessionStatus.COMPLETED, stored.getStatus());
+            assertNotNull(stored.getCompletedAt());
+            assertAllConfirmed(stored);
+        }
+    }
+
+    @Test
+    void parallelCompleteSessionLosesNoConfirmation() throws InterruptedException {
+        List<Session> sessions = createSessions(500);
+
+        // Each participant confirms twice, so first and repeat confirmations of both users interleave
+        List<Runnable> calls = new ArrayList<>();
+        for (Session session : sessions) {
+            for (int i = 0; i < 2; i++) {
+                calls.add(() -> sessionService.completeSession(session.getId(), session.getParticipantAId()));
+                calls.add(() -> sessionService.completeSession(session.getId(), session.getParticipantBId()));
+            }
+        }
+        runConcurrently(calls);
+
+        // completeSession confirms the taught skill on one row and the learned skill on the other
+        for (Session session : sessions) {
+            SwapRequest request = swapRequestRepository.findById(session.getSwapRequest().getId()).orElseThrow();
+            for (ProgressTracking tracking : progressTrackingRepository.findBySession(session)) {
+                boolean isSender = tracking.getUser().getId().equals(request.getSender().getId());
+                boolean teachesSkill = tracking.getSkill().getId().equals(
+                        isSender ? request.getTeachSkill().getId() : request.getLearnSkill().getId());
+                Boolean confirmed = teachesSkill ? tracking.getTaughtConfirmed() : tracking.getLearnedConfirmed();
+                assertTrue(confirmed, "tracking " + tracking.getId() + " of session " + session.getId());
+                assertNotNull(tracking.getConfirmedAt(), "confirmedAt of tracking " + tracking.getId());
+            }
+        }
+    }
+
+    @Test
+    void duplicateAcceptsCreateExactlyOneSession() throws InterruptedException {
+        List<SwapRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            requests.add(swapRequestRepository.save(newRequest()));
+        }
+
+        List<Runnable> calls = new ArrayList<>();
+        for (SwapRequest request : requests) {
+            for (int i = 0; i < 3; i++) {
+                calls.add(() -> swapRequestService.acceptSwapRequest(request.getId(), request.getReceiver().getId()));
+            }
+        }
+        runConcurrently(calls);
+
+        for (SwapRequest request : requests) {
+            SwapRequest stored = swapRequestRepository.findById(request.getId()).orElseThrow();
+            assertEquals(SwapRequestStatus.ACCEPTED, stored.getStatus());
+            assertEquals(1, sessionRepository.findBySwapRequest(stored).size(), "sessions for request " + request.getId());
+        }
+    }
+
+    @Test
+    void acceptRacingRejectKeepsOneOutcome() throws InterruptedException {
+        List<SwapRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            requests.add(swapRequestRepository.save(newRequest()));
+        }
+
+        // The call that lost the race is refused, so it is recorded instead of failing the run
+        Map<Long, Queue<SwapRequestStatus>> winners = new ConcurrentHashMap<>();
+        List<Runnable> calls = new ArrayList<>();
+        for (SwapRequest request : requests) {
+            Queue<SwapRequestStatus> outcomes = winners.computeIfAbsent(request.getId(), id -> new ConcurrentLinkedQueue<>());
+            Long receiverId = request.getReceiver().getId();
+            calls.add(() -> {
+                try {
+                    outcomes.add(swapRequestService.acceptSwapRequest(request.getId(), receiverId).getStatus());
+                } catch (AuthException e) {
+                    // lost to the reject
+                }
+            });
+            calls.add(() -> {
+                try {
+                    outcomes.add(swapRequestService.rejectSwapRequest(request.getId(), receiverId).getStatus());
+                } catch (AuthException e) {
+                    // lost to the accept
+                }
+            });
+        }
+        runConcurrently(calls);
+
+        for (SwapRequest request : requests) {
+            Queue<SwapRequestStatus> outcomes = winners.get(request.getId());
+            assertEquals(1, outcomes.size(), "successful calls for request " + request.getId());
+            SwapRequest stored = swapRequestRepository.findById(request.getId()).orElseThrow();
+            assertEquals(outcomes.peek(), stored.getStatus());
+            int sessions = stored.getStatus() == SwapRequestStatus.ACCEPTED ? 1 : 0;
+            assertEquals(sessions, sessionRepository.findBySwapRequest(stored).size(), "sessions for request " + request.getId());
+        }
+    }
+
+    private List<Session> createSessions(int count) {
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SwapRequest request = newRequest();
+            request.setStatus(SwapRequestStatus.ACCEPTED);
+            request = swapRequestRepository.save(request);
+            sessionService.createSessionFromSwapRequest(request);
+            sessions.add(sessionRepository.findBySwapRequest(request).get(0));
+        }
+        return sessions;
+    }
+
+    private SwapRequest newRequest() {
+        User sender = users.get(random.nextInt(USERS));
+        User receiver = users.get(random.nextInt(USERS));
+        while (receiver == sender) {
+            receiver = users.get(random.nextInt(USERS));
+        }
+        return new SwapRequest(sender, receiver, teachSkill, learnSkill, "Concurrency test swap");
+    }
+
+    private void assertAllConfirmed(Session session) {
+        List<ProgressTracking> trackings = progressTrackingRepository.findBySession(session);
+        assertEquals(4, trackings.size());
+        for (ProgressTracking tracking : trackings) {
+            assertTrue(tracking.isBothConfirmed(), "tracking " + tracking.getId() + " of session " + session.getId());
+            assertNotNull(tracking.getConfirmedAt(), "confirmedAt of tracking " + tracking.getId());
+        }
+    }
+
+    // Shuffled, released together from a start gate; fails on any exception or if the pool does not drain
+    private void runConcurrently(List<Runnable> calls) throws InterruptedException {
+        Collections.shuffle(calls, random);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        AtomicInteger done = new AtomicInteger();
+        for (Runnable call : calls) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    call.run();
+                    done.incrementAndGet();
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        boolean drained = pool.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        pool.shutdownNow();
+
+        assertTrue(drained, "calls still running after " + TIMEOUT_SECONDS + "s (" + done.get() + "/" + calls.size() + " done)");
+        assertTrue(failures.isEmpty(), failures.size() + " calls failed, first: " + failures.peek());
+        assertEquals(calls.size(), done.get());
+    }
+}
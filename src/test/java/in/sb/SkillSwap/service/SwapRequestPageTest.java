@@ -0,0 +1,85 @@
+package in.sb.SkillSwap.service;
+
+import in.sb.SkillSwap.IntegrationTest;
+import in.sb.SkillSwap.dto.CursorPageDTO;
+import in.sb.SkillSwap.dto.SwapRequestDTO;
+import in.sb.SkillSwap.model.Skill;
+import in.sb.SkillSwap.model.SwapRequest;
+import in.sb.SkillSwap.model.User;
+import in.sb.SkillSwap.repository.SwapRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Walks the inbox and outbox two rows at a time, newest first with ties broken by id.
+// created_at is NOT NULL in the mapped schema; the column is loosened here to stand in for a schema that was not
+// created by Hibernate, where requests without a creation time must still be listed, last.
+class SwapRequestPageTest extends IntegrationTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private SwapRequestService swapRequestService;
+
+    @Autowired
+    private SwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User sender;
+    private User receiver;
+    private Skill teachSkill;
+    private Skill learnSkill;
+
+    @BeforeEach
+    void seed() {
+        sender = newUser("sender");
+        receiver = newUser("receiver");
+        teachSkill = newSkill("Knitting", "Crafts");
+        learnSkill = newSkill("Baking", "Cooking");
+        jdbcTemplate.execute("ALTER TABLE swap_requests ALTER COLUMN created_at SET NULL");
+    }
+
+    @Test
+    void inboxAndOutboxListRequestsWithoutCreationTimeLast() {
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 9, 0);
+        Long undatedA = createRequest(null);
+        Long older = createRequest(base);
+        Long sameTimeA = createRequest(base.plusHours(1));
+        Long undatedB = createRequest(null);
+        Long sameTimeB = createRequest(base.plusHours(1));
+        Long newest = createRequest(base.plusDays(1));
+        Long undatedC = createRequest(null);
+
+        List<Long> expected = List.of(newest, sameTimeB, sameTimeA, older, undatedC, undatedB, undatedA);
+        assertEquals(expected, walk(receiver, "inbox"));
+        assertEquals(expected, walk(sender, "outbox"));
+    }
+
+    // Every id of the box in page order, following nextCursor until the last page
+    private List<Long> walk(User user, String box) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<SwapRequestDTO> page = swapRequestService.getRequestPage(user.getId(), box, null, cursor, PAGE_SIZE);
+            page.getItems().forEach(request -> ids.add(request.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private Long createRequest(LocalDateTime createdAt) {
+        Long id = swapRequestRepository.save(new SwapRequest(sender, receiver, teachSkill, learnSkill, "Pagination test swap")).getId();
+        // created_at is not updatable through the entity
+        jdbcTemplate.update("UPDATE swap_requests SET created_at = ? WHERE id = ?", createdAt, id);
+        return id;
+    }
+}
@@ -0,0 +1,96 @@
+package in.sb.SkillSwap.service;
+
+import in.sb.SkillSwap.IntegrationTest;
+import in.sb.SkillSwap.model.Session;
+import in.sb.SkillSwap.model.Skill;
+import in.sb.SkillSwap.model.SwapRequest;
+import in.sb.SkillSwap.model.SwapRequestStatus;
+import in.sb.SkillSwap.model.User;
+import in.sb.SkillSwap.repository.SessionRepository;
+import in.sb.SkillSwap.repository.SwapRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A user's rating is the mean of every rating received, rounded to one decimal, and does not depend on the
+// order in which sessions complete. (It replaced a 70/30 blend of the previous rating and the latest session.)
+class UserRatingTest extends IntegrationTest {
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User sender;
+    private User receiver;
+    private Skill teachSkill;
+    private Skill learnSkill;
+
+    @BeforeEach
+    void seed() {
+        sender = newUser("rater");
+        receiver = newUser("rated");
+        teachSkill = newSkill("Yoga", "Fitness");
+        learnSkill = newSkill("Spanish", "Languages");
+    }
+
+    @Test
+    void ratingIsTheMeanOfAllCompletedSessions() {
+        assertEquals(0.0, rating(receiver));
+
+        completeWithRating(5);
+        assertEquals(5.0, rating(receiver));
+
+        // The 70/30 blend would have given 3.8 here
+        completeWithRating(1);
+        assertEquals(3.0, rating(receiver));
+
+        // (5 + 1 + 4) / 3 = 3.33...
+        completeWithRating(4);
+        assertEquals(3.3, rating(receiver));
+
+        assertEquals(0.0, rating(sender));
+    }
+
+    @Test
+    void averageIsRoundedToOneDecimal() {
+        assertEquals(0.0, User.averageRating(0L, 0L));
+        assertEquals(0.0, User.averageRating(null, null));
+        assertEquals(4.7, User.averageRating(14L, 3L));
+        assertEquals(4.5, User.averageRating(9L, 2L));
+        assertEquals(1.3, User.averageRating(4L, 3L));
+    }
+
+    // One session in which only the receiver's tracking rows carry the given rating
+    private void completeWithRating(int rating) {
+        SwapRequest request = new SwapRequest(sender, receiver, teachSkill, learnSkill, "Rating test swap");
+        request.setStatus(SwapRequestStatus.ACCEPTED);
+        request = swapRequestRepository.save(request);
+        sessionService.createSessionFromSwapRequest(request);
+        Session session = sessionRepository.findBySwapRequest(request).get(0);
+
+        // Nothing in the application writes rating_given yet
+        jdbcTemplate.update("UPDATE progress_tracking SET rating_given = ? WHERE session_id = ? AND user_id = ?",
+                rating, session.getId(), receiver.getId());
+
+        // completeSession applies the ratings once both participants have fully confirmed rows,
+        // which markAsCompleted gives them
+        sessionService.markAsCompleted(session.getId(), sender.getId());
+        sessionService.markAsCompleted(session.getId(), receiver.getId());
+        sessionService.completeSession(session.getId(), sender.getId());
+    }
+
+    private Double rating(User user) {
+        return userRepository.findById(user.getId()).orElseThrow().getRating();
+    }
+}